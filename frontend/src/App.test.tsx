@@ -4,7 +4,7 @@ import { rest } from 'msw';
 import { setupServer } from 'msw/node';
 import App from './App';
 import { handlers } from './test-utils/mock-handlers';
-import { mockBills, mockBill1 } from './test-utils/mock-data';
+import { mockBillSummary1 } from './test-utils/mock-data';
 
 // Setup MSW server
 const server = setupServer(...handlers);
@@ -27,9 +27,9 @@ jest.mock('./components/BillList', () => {
         <div data-testid="bills-count">{bills.length}</div>
         <div data-testid="loading">{isLoading ? 'loading' : 'not-loading'}</div>
         <div data-testid="error">{error || 'no-error'}</div>
-        <button onClick={() => onViewBill(mockBill1)}>View Bill</button>
-        <button onClick={() => onEditBill(mockBill1)}>Edit Bill</button>
-        <button onClick={() => onDeleteBill(mockBill1)}>Delete Bill</button>
+        <button onClick={() => onViewBill(mockBillSummary1)}>View Bill</button>
+        <button onClick={() => onEditBill(mockBillSummary1)}>Edit Bill</button>
+        <button onClick={() => onDeleteBill(mockBillSummary1)}>Delete Bill</button>
         <button onClick={onCreateBill}>Create Bill</button>
         <button onClick={() => onSearch('test')}>Search</button>
         <button onClick={() => onFilterByStatus('INCOMPLETE')}>Filter</button>
@@ -134,9 +134,10 @@ describe('App', () => {
     const viewButton = screen.getByText('View Bill');
     viewButton.click();
 
+    // The listed summary has no persons; they come from the bill fetched on opening it
     await waitFor(() => {
       expect(screen.getByText('Dinner at Restaurant')).toBeInTheDocument();
-      expect(screen.getByTestId('person-list')).toBeInTheDocument();
+      expect(screen.getByTestId('persons-count')).toHaveTextContent('2');
     });
   });
 
@@ -13,15 +13,18 @@ import PersonList from './components/PersonList';
 import BillApiService from './services/billApi';
 import { 
   BillDto, 
+  BillSummaryDto, 
   BillCreateRequest, 
   BillUpdateRequest, 
   BillStatus, 
   PaymentStatus 
 } from './types';
+import { MAX_QUERY_LIMIT } from './utils/constants';
+import { toBillSummary } from './utils/billSummary';
 
 // App State
 interface AppState {
-  bills: BillDto[];
+  bills: BillSummaryDto[];
   currentBill: BillDto | null;
   isLoading: boolean;
   error: string | null;
@@ -54,14 +57,23 @@ const App: React.FC = () => {
     setState(prev => ({ ...prev, isLoading: true, error: null }));
     
     try {
-      let bills: BillDto[];
+      let bills: BillSummaryDto[];
       
-      if (state.searchTerm) {
-        bills = await BillApiService.searchBillsByTitle(state.searchTerm);
+      // The cards only need participant counts; persons are fetched when a bill is opened
+      if (state.searchTerm && state.statusFilter) {
+        // Let the server apply both filters instead of dropping one of them
+        const page = await BillApiService.queryBills({
+          title: state.searchTerm,
+          status: state.statusFilter,
+          limit: MAX_QUERY_LIMIT
+        });
+        bills = page.bills.map(toBillSummary);
+      } else if (state.searchTerm) {
+        bills = (await BillApiService.searchBillsByTitle(state.searchTerm)).map(toBillSummary);
       } else if (state.statusFilter) {
-        bills = await BillApiService.getBillsByStatus(state.statusFilter);
+        bills = (await BillApiService.getBillsByStatus(state.statusFilter)).map(toBillSummary);
       } else {
-        bills = await BillApiService.getAllBills();
+        bills = await BillApiService.getBillSummaries();
       }
       
       setState(prev => ({ ...prev, bills, isLoading: false }));
@@ -96,25 +108,47 @@ const App: React.FC = () => {
     }));
   }, []);
 
-  const handleEditBill = useCallback((bill: BillDto) => {
+  // Listed bills come without persons, so the full bill is fetched before it is shown or edited
+  const loadFullBill = useCallback(async (bill: BillSummaryDto | BillDto): Promise<BillDto | null> => {
+    if ('persons' in bill) {
+      return bill;
+    }
+    try {
+      return await BillApiService.getBillById(bill.id);
+    } catch (error) {
+      setState(prev => ({ 
+        ...prev, 
+        error: error instanceof Error ? error.message : 'Failed to load bill'
+      }));
+      return null;
+    }
+  }, []);
+
+  const handleEditBill = useCallback(async (bill: BillSummaryDto | BillDto) => {
+    const fullBill = await loadFullBill(bill);
+    if (!fullBill) return;
+    
     setState(prev => ({ 
       ...prev, 
       showForm: true, 
-      editingBill: bill,
+      editingBill: fullBill,
       showBillDetail: false 
     }));
-  }, []);
+  }, [loadFullBill]);
 
-  const handleViewBill = useCallback((bill: BillDto) => {
+  const handleViewBill = useCallback(async (bill: BillSummaryDto) => {
+    const fullBill = await loadFullBill(bill);
+    if (!fullBill) return;
+    
     setState(prev => ({ 
       ...prev, 
-      currentBill: bill,
+      currentBill: fullBill,
       showBillDetail: true,
       showForm: false 
     }));
-  }, []);
+  }, [loadFullBill]);
 
-  const handleDeleteBill = useCallback(async (bill: BillDto) => {
+  const handleDeleteBill = useCallback(async (bill: BillSummaryDto) => {
     try {
       await BillApiService.deleteBill(bill.id);
       await loadBills(); // Reload bills after deletion
@@ -1,8 +1,8 @@
 import React from 'react';
 import { render, screen, fireEvent } from '../test-utils';
 import BillCard from './BillCard';
-import { mockBill1, mockBill2 } from '../test-utils/mock-data';
-import { BillStatus, OperatorType, PaymentStatus } from '../types';
+import { mockBillSummary1, mockBillSummary2 } from '../test-utils/mock-data';
+import { BillStatus, OperatorType } from '../types';
 
 describe('BillCard', () => {
   const mockOnView = jest.fn();
@@ -16,7 +16,7 @@ describe('BillCard', () => {
   it('renders bill information correctly', () => {
     render(
       <BillCard
-        bill={mockBill1}
+        bill={mockBillSummary1}
         onView={mockOnView}
         onEdit={mockOnEdit}
         onDelete={mockOnDelete}
@@ -33,7 +33,7 @@ describe('BillCard', () => {
   it('displays correct status badge for INCOMPLETE status', () => {
     render(
       <BillCard
-        bill={mockBill1}
+        bill={mockBillSummary1}
         onView={mockOnView}
         onEdit={mockOnEdit}
         onDelete={mockOnDelete}
@@ -48,7 +48,7 @@ describe('BillCard', () => {
   it('displays correct status badge for COMPLETE status', () => {
     render(
       <BillCard
-        bill={mockBill2}
+        bill={mockBillSummary2}
         onView={mockOnView}
         onEdit={mockOnEdit}
         onDelete={mockOnDelete}
@@ -63,7 +63,7 @@ describe('BillCard', () => {
   it('displays correct operator type', () => {
     render(
       <BillCard
-        bill={mockBill2}
+        bill={mockBillSummary2}
         onView={mockOnView}
         onEdit={mockOnEdit}
         onDelete={mockOnDelete}
@@ -76,7 +76,7 @@ describe('BillCard', () => {
   it('calls onView when view button is clicked', () => {
     render(
       <BillCard
-        bill={mockBill1}
+        bill={mockBillSummary1}
         onView={mockOnView}
         onEdit={mockOnEdit}
         onDelete={mockOnDelete}
@@ -86,13 +86,13 @@ describe('BillCard', () => {
     const viewButton = screen.getByTitle('View details');
     fireEvent.click(viewButton);
 
-    expect(mockOnView).toHaveBeenCalledWith(mockBill1);
+    expect(mockOnView).toHaveBeenCalledWith(mockBillSummary1);
   });
 
   it('calls onEdit when edit button is clicked', () => {
     render(
       <BillCard
-        bill={mockBill1}
+        bill={mockBillSummary1}
         onView={mockOnView}
         onEdit={mockOnEdit}
         onDelete={mockOnDelete}
@@ -102,13 +102,13 @@ describe('BillCard', () => {
     const editButton = screen.getByTitle('Edit bill');
     fireEvent.click(editButton);
 
-    expect(mockOnEdit).toHaveBeenCalledWith(mockBill1);
+    expect(mockOnEdit).toHaveBeenCalledWith(mockBillSummary1);
   });
 
   it('calls onDelete when delete button is clicked', () => {
     render(
       <BillCard
-        bill={mockBill1}
+        bill={mockBillSummary1}
         onView={mockOnView}
         onEdit={mockOnEdit}
         onDelete={mockOnDelete}
@@ -118,16 +118,14 @@ describe('BillCard', () => {
     const deleteButton = screen.getByTitle('Delete bill');
     fireEvent.click(deleteButton);
 
-    expect(mockOnDelete).toHaveBeenCalledWith(mockBill1);
+    expect(mockOnDelete).toHaveBeenCalledWith(mockBillSummary1);
   });
 
   it('displays correct payment count', () => {
     const billWithMixedPayments = {
-      ...mockBill1,
-      persons: [
-        { ...mockBill1.persons[0], paymentStatus: PaymentStatus.PAID },
-        { ...mockBill1.persons[1], paymentStatus: PaymentStatus.UNPAID }
-      ]
+      ...mockBillSummary1,
+      personCount: 3,
+      paidCount: 2
     };
 
     render(
@@ -139,13 +137,13 @@ describe('BillCard', () => {
       />
     );
 
-    expect(screen.getByText('1/2 paid')).toBeInTheDocument();
+    expect(screen.getByText('2/3 paid')).toBeInTheDocument();
   });
 
   it('formats currency correctly', () => {
     render(
       <BillCard
-        bill={mockBill1}
+        bill={mockBillSummary1}
         onView={mockOnView}
         onEdit={mockOnEdit}
         onDelete={mockOnDelete}
@@ -158,7 +156,7 @@ describe('BillCard', () => {
   it('formats dates correctly', () => {
     render(
       <BillCard
-        bill={mockBill1}
+        bill={mockBillSummary1}
         onView={mockOnView}
         onEdit={mockOnEdit}
         onDelete={mockOnDelete}
@@ -171,7 +169,7 @@ describe('BillCard', () => {
   it('displays created date', () => {
     render(
       <BillCard
-        bill={mockBill1}
+        bill={mockBillSummary1}
         onView={mockOnView}
         onEdit={mockOnEdit}
         onDelete={mockOnDelete}
@@ -1,15 +1,15 @@
 import React from 'react';
 import { Card, Badge, Button, Row, Col } from 'react-bootstrap';
-import { BillDto, BillStatus, OperatorType } from '../types';
+import { BillSummaryDto, BillStatus, OperatorType } from '../types';
 import { STATUS_COLORS, STATUS_LABELS, OPERATOR_LABELS } from '../utils/constants';
 import { format } from 'date-fns';
 import { Eye, Pencil, Trash, People } from 'react-bootstrap-icons';
 
 interface BillCardProps {
-  bill: BillDto;
-  onView: (bill: BillDto) => void;
-  onEdit: (bill: BillDto) => void;
-  onDelete: (bill: BillDto) => void;
+  bill: BillSummaryDto;
+  onView: (bill: BillSummaryDto) => void;
+  onEdit: (bill: BillSummaryDto) => void;
+  onDelete: (bill: BillSummaryDto) => void;
 }
 
 const BillCard: React.FC<BillCardProps> = ({ bill, onView, onEdit, onDelete }) => {
@@ -37,10 +37,6 @@ const BillCard: React.FC<BillCardProps> = ({ bill, onView, onEdit, onDelete }) =
     return format(new Date(dateString), 'MMM dd, yyyy');
   };
 
-  const getPaidCount = () => {
-    return bill.persons.filter(person => person.paymentStatus === 'PAID').length;
-  };
-
   return (
     <Card className="h-100 shadow-sm bill-card">
       <Card.Header className="d-flex justify-content-between align-items-center">
@@ -104,7 +100,7 @@ const BillCard: React.FC<BillCardProps> = ({ bill, onView, onEdit, onDelete }) =
             <div className="d-flex align-items-center">
               <People size={16} className="me-1" />
               <span className="fw-bold">
-                {getPaidCount()}/{bill.persons.length} paid
+                {bill.paidCount}/{bill.personCount} paid
               </span>
             </div>
           </Col>
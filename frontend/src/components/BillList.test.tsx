@@ -2,7 +2,7 @@ import React from 'react';
 import { render, screen, fireEvent, waitFor } from '../test-utils';
 import userEvent from '@testing-library/user-event';
 import BillList from './BillList';
-import { mockBills, mockBill1, mockBill2, mockBill3 } from '../test-utils/mock-data';
+import { mockBillSummaries, mockBillSummary1, mockBillSummary2, mockBillSummary3 } from '../test-utils/mock-data';
 import { BillStatus } from '../types';
 
 // Mock the BillCard component
@@ -35,7 +35,7 @@ describe('BillList', () => {
     it('renders bills list with correct count', () => {
       render(
         <BillList
-          bills={mockBills}
+          bills={mockBillSummaries}
           onViewBill={mockOnViewBill}
           onEditBill={mockOnEditBill}
           onDeleteBill={mockOnDeleteBill}
@@ -53,7 +53,7 @@ describe('BillList', () => {
     it('renders singular form for single bill', () => {
       render(
         <BillList
-          bills={[mockBill1]}
+          bills={[mockBillSummary1]}
           onViewBill={mockOnViewBill}
           onEditBill={mockOnEditBill}
           onDeleteBill={mockOnDeleteBill}
@@ -69,7 +69,7 @@ describe('BillList', () => {
     it('renders all bill cards', () => {
       render(
         <BillList
-          bills={mockBills}
+          bills={mockBillSummaries}
           onViewBill={mockOnViewBill}
           onEditBill={mockOnEditBill}
           onDeleteBill={mockOnDeleteBill}
@@ -169,7 +169,7 @@ describe('BillList', () => {
     it('renders SearchBar component', () => {
       render(
         <BillList
-          bills={mockBills}
+          bills={mockBillSummaries}
           onViewBill={mockOnViewBill}
           onEditBill={mockOnEditBill}
           onDeleteBill={mockOnDeleteBill}
@@ -189,7 +189,7 @@ describe('BillList', () => {
       
       render(
         <BillList
-          bills={mockBills}
+          bills={mockBillSummaries}
           onViewBill={mockOnViewBill}
           onEditBill={mockOnEditBill}
           onDeleteBill={mockOnDeleteBill}
@@ -211,7 +211,7 @@ describe('BillList', () => {
     it('shows current filter in dropdown button', () => {
       render(
         <BillList
-          bills={mockBills}
+          bills={mockBillSummaries}
           currentFilter={BillStatus.INCOMPLETE}
           onViewBill={mockOnViewBill}
           onEditBill={mockOnEditBill}
@@ -230,7 +230,7 @@ describe('BillList', () => {
       
       render(
         <BillList
-          bills={mockBills}
+          bills={mockBillSummaries}
           onViewBill={mockOnViewBill}
           onEditBill={mockOnEditBill}
           onDeleteBill={mockOnDeleteBill}
@@ -254,7 +254,7 @@ describe('BillList', () => {
       
       render(
         <BillList
-          bills={mockBills}
+          bills={mockBillSummaries}
           currentFilter={BillStatus.INCOMPLETE}
           onViewBill={mockOnViewBill}
           onEditBill={mockOnEditBill}
@@ -281,7 +281,7 @@ describe('BillList', () => {
       
       render(
         <BillList
-          bills={mockBills}
+          bills={mockBillSummaries}
           onViewBill={mockOnViewBill}
           onEditBill={mockOnEditBill}
           onDeleteBill={mockOnDeleteBill}
@@ -325,7 +325,7 @@ describe('BillList', () => {
       
       render(
         <BillList
-          bills={mockBills}
+          bills={mockBillSummaries}
           onViewBill={mockOnViewBill}
           onEditBill={mockOnEditBill}
           onDeleteBill={mockOnDeleteBill}
@@ -348,7 +348,7 @@ describe('BillList', () => {
       
       render(
         <BillList
-          bills={mockBills}
+          bills={mockBillSummaries}
           onViewBill={mockOnViewBill}
           onEditBill={mockOnEditBill}
           onDeleteBill={mockOnDeleteBill}
@@ -364,7 +364,7 @@ describe('BillList', () => {
       const confirmDeleteButton = screen.getByText('Delete Bill');
       await user.click(confirmDeleteButton);
 
-      expect(mockOnDeleteBill).toHaveBeenCalledWith(mockBill1);
+      expect(mockOnDeleteBill).toHaveBeenCalledWith(mockBillSummary1);
     });
 
     it('closes modal when cancel is clicked', async () => {
@@ -372,7 +372,7 @@ describe('BillList', () => {
       
       render(
         <BillList
-          bills={mockBills}
+          bills={mockBillSummaries}
           onViewBill={mockOnViewBill}
           onEditBill={mockOnEditBill}
           onDeleteBill={mockOnDeleteBill}
@@ -400,7 +400,7 @@ describe('BillList', () => {
       
       render(
         <BillList
-          bills={mockBills}
+          bills={mockBillSummaries}
           onViewBill={mockOnViewBill}
           onEditBill={mockOnEditBill}
           onDeleteBill={mockOnDeleteBill}
@@ -413,7 +413,7 @@ describe('BillList', () => {
       const viewButton = screen.getAllByText('View')[0];
       await user.click(viewButton);
 
-      expect(mockOnViewBill).toHaveBeenCalledWith(mockBill1);
+      expect(mockOnViewBill).toHaveBeenCalledWith(mockBillSummary1);
     });
 
     it('calls onEditBill when edit button is clicked', async () => {
@@ -421,7 +421,7 @@ describe('BillList', () => {
       
       render(
         <BillList
-          bills={mockBills}
+          bills={mockBillSummaries}
           onViewBill={mockOnViewBill}
           onEditBill={mockOnEditBill}
           onDeleteBill={mockOnDeleteBill}
@@ -434,7 +434,7 @@ describe('BillList', () => {
       const editButton = screen.getAllByText('Edit')[0];
       await user.click(editButton);
 
-      expect(mockOnEditBill).toHaveBeenCalledWith(mockBill1);
+      expect(mockOnEditBill).toHaveBeenCalledWith(mockBillSummary1);
     });
   });
 });
@@ -1,18 +1,18 @@
 import React, { useState, useCallback } from 'react';
 import { Container, Row, Col, Button, Dropdown, Alert, Spinner } from 'react-bootstrap';
-import { BillDto, BillStatus } from '../types';
+import { BillSummaryDto, BillStatus } from '../types';
 import { STATUS_LABELS } from '../utils/constants';
 import BillCard from './BillCard';
 import SearchBar from './SearchBar';
 import { Plus, Filter } from 'react-bootstrap-icons';
 
 interface BillListProps {
-  bills: BillDto[];
+  bills: BillSummaryDto[];
   isLoading?: boolean;
   error?: string;
-  onViewBill: (bill: BillDto) => void;
-  onEditBill: (bill: BillDto) => void;
-  onDeleteBill: (bill: BillDto) => void;
+  onViewBill: (bill: BillSummaryDto) => void;
+  onEditBill: (bill: BillSummaryDto) => void;
+  onDeleteBill: (bill: BillSummaryDto) => void;
   onCreateBill: () => void;
   onSearch: (searchTerm: string) => void;
   onFilterByStatus: (status: BillStatus | null) => void;
@@ -31,9 +31,9 @@ const BillList: React.FC<BillListProps> = ({
   onFilterByStatus,
   currentFilter
 }) => {
-  const [showDeleteConfirm, setShowDeleteConfirm] = useState<BillDto | null>(null);
+  const [showDeleteConfirm, setShowDeleteConfirm] = useState<BillSummaryDto | null>(null);
 
-  const handleDeleteClick = useCallback((bill: BillDto) => {
+  const handleDeleteClick = useCallback((bill: BillSummaryDto) => {
     setShowDeleteConfirm(bill);
   }, []);
 
@@ -6,6 +6,7 @@ import { setupServer } from 'msw/node';
 import App from '../App';
 import { 
   mockBills, 
+  mockBillSummaries, 
   mockBill1, 
   mockBillCreateRequest,
   mockApiResponse,
@@ -26,7 +27,7 @@ describe('Bill CRUD Integration Tests', () => {
     // Setup default handlers
     server.use(
       rest.get('http://localhost:8080/api/v1/bills', (req, res, ctx) => {
-        return res(ctx.status(200), ctx.json(mockApiResponse(mockBills)));
+        return res(ctx.status(200), ctx.json(mockApiResponse(mockBillSummaries)));
       }),
       rest.get('http://localhost:8080/api/v1/bills/:id', (req, res, ctx) => {
         const { id } = req.params;
@@ -6,11 +6,13 @@ import { setupServer } from 'msw/node';
 import App from '../App';
 import { 
   mockBills, 
+  mockBillSummaries, 
   mockBill1, 
   mockApiResponse,
   mockErrorResponse
 } from '../test-utils/mock-data';
 import { PaymentStatus } from '../types';
+import { toBillSummary } from '../utils/billSummary';
 
 // Setup MSW server
 const server = setupServer();
@@ -24,7 +26,7 @@ describe('Payment Flow Integration Tests', () => {
     // Setup default handlers
     server.use(
       rest.get('http://localhost:8080/api/v1/bills', (req, res, ctx) => {
-        return res(ctx.status(200), ctx.json(mockApiResponse(mockBills)));
+        return res(ctx.status(200), ctx.json(mockApiResponse(mockBillSummaries)));
       }),
       rest.get('http://localhost:8080/api/v1/bills/:id', (req, res, ctx) => {
         const { id } = req.params;
@@ -401,7 +403,10 @@ describe('Payment Flow Integration Tests', () => {
 
       server.use(
         rest.get('http://localhost:8080/api/v1/bills', (req, res, ctx) => {
-          return res(ctx.status(200), ctx.json(mockApiResponse([updatedBill, ...mockBills.slice(1)])));
+          return res(ctx.status(200), ctx.json(mockApiResponse([updatedBill, ...mockBills.slice(1)].map(toBillSummary))));
+        }),
+        rest.get('http://localhost:8080/api/v1/bills/:id', (req, res, ctx) => {
+          return res(ctx.status(200), ctx.json(mockApiResponse(updatedBill)));
         })
       );
 
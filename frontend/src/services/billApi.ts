@@ -4,6 +4,9 @@ import {
   BillCreateRequest, 
   BillUpdateRequest, 
   BillStatus, 
+  BillQueryParams,
+  BillPage,
+  BillSummaryDto,
   ApiResponse,
   ErrorResponse 
 } from '../types';
@@ -66,6 +69,16 @@ export class BillApiService {
     return response.data.data;
   }
 
+  /**
+   * Get all bills without their persons; load a bill's persons with getBillById
+   */
+  static async getBillSummaries(): Promise<BillSummaryDto[]> {
+    const response: AxiosResponse<ApiResponse<BillSummaryDto[]>> = await apiClient.get('/bills', {
+      params: { view: 'summary' }
+    });
+    return response.data.data;
+  }
+
   /**
    * Get bill by ID
    */
@@ -115,6 +128,14 @@ export class BillApiService {
     return response.data.data;
   }
 
+  /**
+   * Query bills with combined filters; the server filters, sorts and pages
+   */
+  static async queryBills(params: BillQueryParams): Promise<BillPage> {
+    const response: AxiosResponse<ApiResponse<BillDto[]>> = await apiClient.get('/bills/query', { params });
+    return { bills: response.data.data, nextCursor: response.data.nextCursor };
+  }
+
   /**
    * Pay bill for a specific person
    */
@@ -1,5 +1,6 @@
 import { 
   BillDto, 
+  BillSummaryDto, 
   PersonDto, 
   BillCreateRequest, 
   BillUpdateRequest,
@@ -7,6 +8,7 @@ import {
   OperatorType, 
   PaymentStatus 
 } from '../types';
+import { toBillSummary } from '../utils/billSummary';
 
 // Mock person data
 export const mockPerson1: PersonDto = {
@@ -77,6 +79,10 @@ export const mockBill3: BillDto = {
 // Mock bills array
 export const mockBills: BillDto[] = [mockBill1, mockBill2, mockBill3];
 
+// The same bills as listed with view=summary
+export const mockBillSummaries: BillSummaryDto[] = mockBills.map(toBillSummary);
+export const [mockBillSummary1, mockBillSummary2, mockBillSummary3] = mockBillSummaries;
+
 // Mock create request
 export const mockBillCreateRequest: BillCreateRequest = {
   title: 'Test Bill',
@@ -1,6 +1,7 @@
 import { rest } from 'msw';
 import { 
   mockBills, 
+  mockBillSummaries, 
   mockBill1, 
   mockBill2, 
   mockBill3,
@@ -15,12 +16,36 @@ const API_BASE_URL = process.env.REACT_APP_API_URL || 'http://localhost:8080/api
 export const handlers = [
   // Get all bills
   rest.get(`${API_BASE_URL}/bills`, (req, res, ctx) => {
+    const url = new URL(req.url);
+    if (url.searchParams.get('view') === 'summary') {
+      return res(
+        ctx.status(200),
+        ctx.json(mockApiResponse(mockBillSummaries))
+      );
+    }
+    
     return res(
       ctx.status(200),
       ctx.json(mockApiResponse(mockBills))
     );
   }),
 
+  // Query bills with combined filters
+  rest.get(`${API_BASE_URL}/bills/query`, (req, res, ctx) => {
+    const url = new URL(req.url);
+    const status = url.searchParams.get('status');
+    const title = url.searchParams.get('title');
+    const filteredBills = mockBills.filter(b =>
+      (!status || b.status === status) &&
+      (!title || b.title.toLowerCase().includes(title.toLowerCase()))
+    );
+    
+    return res(
+      ctx.status(200),
+      ctx.json(mockApiResponse(filteredBills))
+    );
+  }),
+
   // Get bill by ID
   rest.get(`${API_BASE_URL}/bills/:id`, (req, res, ctx) => {
     const { id } = req.params;
@@ -36,6 +36,47 @@ export interface BillDto {
   updatedAt: string;
 }
 
+// Bill as listed with view=summary: participant counts instead of persons
+export interface BillSummaryDto {
+  id: number;
+  title: string;
+  totalAmount: number;
+  operator: OperatorType;
+  billDate: string;
+  status: BillStatus;
+  personCount: number;
+  paidCount: number;
+  paidAmount: number;
+  createdAt: string;
+  updatedAt: string;
+}
+
+export enum BillSortOrder {
+  BILL_DATE_DESC = 'BILL_DATE_DESC',
+  BILL_DATE_ASC = 'BILL_DATE_ASC',
+  TOTAL_AMOUNT_DESC = 'TOTAL_AMOUNT_DESC',
+  TOTAL_AMOUNT_ASC = 'TOTAL_AMOUNT_ASC'
+}
+
+// Filters for GET /bills/query; omitted filters are not applied
+export interface BillQueryParams {
+  status?: BillStatus;
+  from?: string;
+  to?: string;
+  minAmount?: number;
+  maxAmount?: number;
+  title?: string;
+  participant?: string;
+  sort?: BillSortOrder;
+  after?: string;
+  limit?: number;
+}
+
+export interface BillPage {
+  bills: BillDto[];
+  nextCursor?: string | null;
+}
+
 export interface PersonCreateRequest {
   name: string;
   amount?: number; // Required for CUSTOM, optional for EQUALLY
@@ -62,6 +103,7 @@ export interface ApiResponse<T> {
   data: T;
   message: string;
   timestamp: string;
+  nextCursor?: string | null;
 }
 
 export interface ErrorResponse {
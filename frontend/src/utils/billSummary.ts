@@ -0,0 +1,12 @@
+import { BillDto, BillSummaryDto, PaymentStatus } from '../types';
+
+// Reduce a full bill to the list's summary shape, for endpoints that have no summary view
+export const toBillSummary = ({ persons, ...bill }: BillDto): BillSummaryDto => {
+  const paid = persons.filter(person => person.paymentStatus === PaymentStatus.PAID);
+  return {
+    ...bill,
+    personCount: persons.length,
+    paidCount: paid.length,
+    paidAmount: paid.reduce((sum, person) => sum + person.amount, 0)
+  };
+};
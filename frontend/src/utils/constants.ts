@@ -1,6 +1,9 @@
 // API Configuration
 export const API_BASE_URL = process.env.REACT_APP_API_URL || 'http://localhost:8080/api/v1';
 
+// Largest page the bill query endpoint returns
+export const MAX_QUERY_LIMIT = 100;
+
 // Status colors for UI
 export const STATUS_COLORS = {
   INCOMPLETE: '#ffc107', // Yellow/Orange
@@ -0,0 +1,61 @@
+package com.sharemal.cli;
+
+import com.sharemal.dto.BillImportResultDto;
+import com.sharemal.enums.ExportFormat;
+import com.sharemal.service.BillImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Command line bill import, enabled by setting {@code sharemal.import.file}.
+ * Run with {@code --spring.main.web-application-type=none} to exit once the import is done, e.g.
+ * {@code java -jar share-mal.jar --spring.main.web-application-type=none --sharemal.import.file=bills.csv}
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "sharemal.import.file")
+public class BillImportRunner implements ApplicationRunner {
+    
+    private final BillImportService billImportService;
+    
+    @Value("${sharemal.import.file}")
+    private Path file;
+    
+    /**
+     * Import format; detected from the file extension when not set
+     */
+    @Value("${sharemal.import.format:}")
+    private String format;
+    
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        ExportFormat importFormat = format.isBlank()
+                ? (file.toString().toLowerCase(Locale.ROOT).endsWith(".csv") ? ExportFormat.CSV : ExportFormat.NDJSON)
+                : ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        log.info("Importing bills from {} as {}", file, importFormat);
+        
+        BillImportResultDto result;
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            result = billImportService.importBills(importFormat, inputStream);
+        }
+        
+        for (BillImportResultDto.RejectedRecord rejection : result.getRejections()) {
+            log.warn("Rejected line {}: {}", rejection.getLine(), rejection.getReason());
+        }
+        if (result.isRejectionsTruncated()) {
+            log.warn("Only the first {} of {} rejected records were reported", result.getRejections().size(), result.getRejected());
+        }
+        log.info("Import of {} finished: {} imported, {} rejected", file, result.getImported(), result.getRejected());
+    }
+}
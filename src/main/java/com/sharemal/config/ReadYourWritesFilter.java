@@ -0,0 +1,73 @@
+package com.sharemal.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Keeps a client's reads on the primary for a while after it wrote, so it sees its own change even
+ * if the replicas lag behind. A mutating request sets a cookie holding the end of the window; requests
+ * carrying an unexpired cookie are pinned to the primary.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    
+    static final String COOKIE_NAME = "sharemal-primary-until";
+    
+    private static final Set<String> MUTATING_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    
+    private final Duration window;
+    
+    public ReadYourWritesFilter(Duration window) {
+        this.window = window;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        if (MUTATING_METHODS.contains(request.getMethod())) {
+            // Set before the body is written; once the response is committed headers can no longer be added
+            Cookie cookie = new Cookie(COOKIE_NAME, String.valueOf(now + window.toMillis()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, window.toSeconds()));
+            response.addCookie(cookie);
+        }
+        
+        boolean pinned = MUTATING_METHODS.contains(request.getMethod()) || pinnedUntil(request) > now;
+        if (pinned) {
+            ReplicaRoutingDataSource.pinToPrimary();
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (pinned) {
+                ReplicaRoutingDataSource.clearPin();
+            }
+        }
+    }
+    
+    private long pinnedUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
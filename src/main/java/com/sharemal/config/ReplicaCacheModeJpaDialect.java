@@ -0,0 +1,52 @@
+package com.sharemal.config;
+
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+
+import java.sql.SQLException;
+
+/**
+ * Keeps transactions that may read from a replica from writing to the second-level cache.
+ * A replica lags the primary, so a row it returns right after a bulk update evicted the cache would
+ * put the stale state back for everyone; such sessions still read the cache but bypass it when storing
+ * ({@link CacheStoreMode#BYPASS}), leaving the primary as the only source of cache puts. The previous
+ * store mode is restored when the transaction ends, since with open-in-view the same entity manager
+ * may go on to run a read-write transaction.
+ */
+public class ReplicaCacheModeJpaDialect extends HibernateJpaDialect {
+    
+    static final String CACHE_STORE_MODE = "jakarta.persistence.cache.storeMode";
+    
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException, TransactionException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        if (!ReplicaRoutingDataSource.mayRouteToReplica(definition.isReadOnly())) {
+            return transactionData;
+        }
+        // Set as an entity manager property rather than a Hibernate CacheMode: find() derives its
+        // cache mode from these properties and would otherwise store what it loads
+        Object previousStoreMode = entityManager.getProperties().getOrDefault(CACHE_STORE_MODE, CacheStoreMode.USE);
+        entityManager.setProperty(CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+        return new ReplicaTransactionData(transactionData, entityManager, previousStoreMode);
+    }
+    
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof ReplicaTransactionData replicaData) {
+            if (replicaData.entityManager().isOpen()) {
+                replicaData.entityManager().setProperty(CACHE_STORE_MODE, replicaData.previousStoreMode());
+            }
+            super.cleanupTransaction(replicaData.transactionData());
+        } else {
+            super.cleanupTransaction(transactionData);
+        }
+    }
+    
+    private record ReplicaTransactionData(Object transactionData, EntityManager entityManager, Object previousStoreMode) {
+    }
+}
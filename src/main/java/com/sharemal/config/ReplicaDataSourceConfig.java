@@ -0,0 +1,124 @@
+package com.sharemal.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data sources for a primary with read replicas, enabled with {@code sharemal.datasource.replicas.enabled}.
+ * The primary pool is configured through the usual {@code spring.datasource.*} properties; each replica
+ * gets its own Hikari pool with the same settings, so reads cannot starve writes of connections.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sharemal.datasource.replicas.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+    
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+        return primary;
+    }
+    
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            MeterRegistry meterRegistry,
+            @Value("${sharemal.datasource.replicas.urls}") List<String> urls,
+            @Value("${sharemal.datasource.replicas.username:${spring.datasource.username:}}") String username,
+            @Value("${sharemal.datasource.replicas.password:${spring.datasource.password:}}") String password,
+            @Value("${sharemal.datasource.replicas.validation-timeout-seconds:2}") int validationTimeoutSeconds) {
+        MicrometerMetricsTrackerFactory metricsTrackerFactory = new MicrometerMetricsTrackerFactory(meterRegistry);
+        List<HikariDataSource> replicas = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            primaryDataSource.copyStateTo(replica);
+            replica.setPoolName("replica-" + (i + 1));
+            replica.setJdbcUrl(urls.get(i).trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setReadOnly(true);
+            replica.setMetricsTrackerFactory(metricsTrackerFactory);
+            replicas.add(replica);
+        }
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaryDataSource, replicas, validationTimeoutSeconds);
+        Gauge.builder("datasource.replicas.healthy", routing, ReplicaRoutingDataSource::getHealthyReplicaCount)
+                .description("Read replicas passing their health check")
+                .register(meterRegistry);
+        return routing;
+    }
+    
+    /**
+     * Applies the migrations to every replica after the primary, for local replicas that are separate databases
+     * rather than copies kept in sync by replication
+     */
+    @Bean
+    @ConditionalOnProperty(name = "sharemal.datasource.replicas.migrate", havingValue = "true")
+    public FlywayMigrationStrategy replicaMigrationStrategy(
+            @Value("${sharemal.datasource.replicas.urls}") List<String> urls,
+            @Value("${sharemal.datasource.replicas.username:${spring.datasource.username:}}") String username,
+            @Value("${sharemal.datasource.replicas.password:${spring.datasource.password:}}") String password) {
+        return flyway -> {
+            flyway.migrate();
+            for (String url : urls) {
+                Flyway.configure()
+                        .configuration(flyway.getConfiguration())
+                        .dataSource(url.trim(), username, password)
+                        .load()
+                        .migrate();
+            }
+        };
+    }
+    
+    /**
+     * The data source used by JPA; connections are fetched lazily so routing sees the transaction's read-only flag
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+    
+    /**
+     * Installs {@link ReplicaCacheModeJpaDialect} before the entity manager factory initializes, so the
+     * transaction manager picks it up from the factory
+     */
+    @Bean
+    public static BeanPostProcessor replicaCacheModeJpaDialectInstaller() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof LocalContainerEntityManagerFactoryBean entityManagerFactory) {
+                    entityManagerFactory.setJpaDialect(new ReplicaCacheModeJpaDialect());
+                }
+                return bean;
+            }
+        };
+    }
+    
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${sharemal.datasource.replicas.read-your-writes-window:5s}") Duration window) {
+        return new FilterRegistrationBean<>(new ReadYourWritesFilter(window));
+    }
+}
@@ -0,0 +1,124 @@
+package com.sharemal.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes read-only transactions to a healthy replica and everything else to the primary.
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the
+ * transaction's read-only flag is only known once the transaction has started, so the physical
+ * connection has to be fetched on the first statement rather than at transaction begin.
+ * Replicas that fail the periodic health check are skipped; with none healthy, reads go to the primary.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    
+    static final String PRIMARY = "primary";
+    
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+    
+    private final List<Replica> replicas;
+    private final int validationTimeoutSeconds;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicaPools, int validationTimeoutSeconds) {
+        this.replicas = replicaPools.stream().map(Replica::new).toList();
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (Replica replica : replicas) {
+            targets.put(replica.key(), replica.pool);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+    
+    /**
+     * Send reads on the current thread to the primary, e.g. right after the same client wrote
+     */
+    public static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+    
+    public static void clearPin() {
+        PINNED_TO_PRIMARY.remove();
+    }
+    
+    /**
+     * Whether a read-only transaction begun on the current thread may be served by a replica
+     */
+    static boolean mayRouteToReplica(boolean readOnly) {
+        return readOnly && PINNED_TO_PRIMARY.get() == null;
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!mayRouteToReplica(TransactionSynchronizationManager.isCurrentTransactionReadOnly())) {
+            return PRIMARY;
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica.key();
+            }
+        }
+        return PRIMARY;
+    }
+    
+    /**
+     * Validate a connection of every replica and take failing replicas out of rotation until they recover
+     */
+    @Scheduled(fixedDelayString = "${sharemal.datasource.replicas.health-check-interval-ms:5000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.pool.getConnection()) {
+                healthy = connection.isValid(validationTimeoutSeconds);
+            } catch (SQLException ex) {
+                log.debug("Health check of replica {} failed: {}", replica.key(), ex.getMessage());
+                healthy = false;
+            }
+            if (healthy != replica.healthy) {
+                if (healthy) {
+                    log.info("Replica {} is healthy again, routing reads to it", replica.key());
+                } else {
+                    log.warn("Replica {} failed its health check, routing its reads elsewhere", replica.key());
+                }
+                replica.healthy = healthy;
+            }
+        }
+    }
+    
+    /**
+     * Number of replicas currently receiving reads
+     */
+    public int getHealthyReplicaCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+    
+    private static final class Replica {
+        
+        private final HikariDataSource pool;
+        private volatile boolean healthy = true;
+        
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+        
+        private String key() {
+            return pool.getPoolName();
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package com.sharemal.config;
 
+import com.sharemal.enums.BillView;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.Locale;
+
 /**
  * Web configuration for CORS and other web-related settings
  */
@@ -16,6 +21,15 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedOrigins("http://localhost:3000", "http://localhost:8080")
                 .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders(HttpHeaders.ETAG)
                 .allowCredentials(true);
     }
+    
+    /**
+     * Accept the list view in any case, e.g. {@code ?view=summary}
+     */
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addConverter(String.class, BillView.class, view -> BillView.valueOf(view.trim().toUpperCase(Locale.ROOT)));
+    }
 }
@@ -0,0 +1,54 @@
+package com.sharemal.controller;
+
+import com.sharemal.dto.ApiResponse;
+import com.sharemal.dto.BalanceDto;
+import com.sharemal.enums.BillStatus;
+import com.sharemal.service.BalanceService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST controller for participant balances
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/balances")
+@RequiredArgsConstructor
+@Tag(name = "Balances", description = "APIs for amounts owed across bills")
+public class BalanceController {
+    
+    private final BalanceService balanceService;
+    
+    /**
+     * Get outstanding balances per participant
+     */
+    @GetMapping
+    @Operation(summary = "Get outstanding balances",
+            description = "Sum the unpaid shares of every participant across bills, largest first. " +
+                    "Participants are matched by name, ignoring case and surrounding whitespace")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved balances"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid date range"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ApiResponse<List<BalanceDto>>> getOutstandingBalances(
+            @Parameter(description = "Only bills dated on or after this date")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Only bills dated on or before this date")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Only bills with this status") @RequestParam(required = false) BillStatus status) {
+        log.debug("GET /api/v1/balances?from={}&to={}&status={} - Fetching outstanding balances", from, to, status);
+        List<BalanceDto> balances = balanceService.getOutstandingBalances(from, to, status);
+        return ResponseEntity.ok(ApiResponse.success(balances, "Balances retrieved successfully"));
+    }
+}
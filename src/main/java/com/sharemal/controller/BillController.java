@@ -1,23 +1,57 @@
 package com.sharemal.controller;
 
+import com.fasterxml.jackson.databind.util.RawValue;
 import com.sharemal.dto.ApiResponse;
+import com.sharemal.dto.BillBatchCreateRequest;
+import com.sharemal.dto.BillBatchResultDto;
+import com.sharemal.dto.BillChangesDto;
 import com.sharemal.dto.BillCreateRequest;
 import com.sharemal.dto.BillDto;
+import com.sharemal.dto.BillImportResultDto;
+import com.sharemal.dto.BillPageDto;
+import com.sharemal.dto.BillQueryCriteria;
+import com.sharemal.dto.BillSummaryDto;
+import com.sharemal.dto.BillSummaryPageDto;
 import com.sharemal.dto.BillUpdateRequest;
+import com.sharemal.enums.BillSortOrder;
 import com.sharemal.enums.BillStatus;
+import com.sharemal.enums.BillView;
+import com.sharemal.enums.ExportFormat;
+import com.sharemal.service.BillBatchService;
+import com.sharemal.service.BillChangesService;
+import com.sharemal.service.BillEventBroadcaster;
+import com.sharemal.service.BillExportService;
+import com.sharemal.service.BillImportService;
+import com.sharemal.service.BillMutationExecutor;
+import com.sharemal.service.BillResponseCache;
 import com.sharemal.service.BillService;
+import com.sharemal.util.ETags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * REST controller for Bill operations
@@ -30,37 +64,195 @@ import java.util.List;
 public class BillController {
     
     private final BillService billService;
+    private final BillChangesService billChangesService;
+    private final BillEventBroadcaster billEventBroadcaster;
+    private final BillBatchService billBatchService;
+    private final BillExportService billExportService;
+    private final BillImportService billImportService;
+    private final BillMutationExecutor billMutationExecutor;
+    private final BillResponseCache billResponseCache;
     
     /**
      * Get all bills
      */
     @GetMapping
-    @Operation(summary = "Get all bills", description = "Retrieve a list of all bills")
+    @Operation(summary = "Get all bills",
+            description = "Retrieve a list of all bills. Pass 'limit' and/or 'after' to page through bills " +
+                    "newest first; the response then carries a 'nextCursor' for the following page. " +
+                    "With view=SUMMARY each bill comes without persons but with its participant and paid counts " +
+                    "(load the persons through GET /api/v1/bills/{id}). " +
+                    "Supports If-None-Match with the returned collection ETag")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved bills"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "No bill has changed since the given ETag"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid cursor or limit"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ApiResponse<List<BillDto>>> getAllBills() {
-        log.debug("GET /api/v1/bills - Fetching all bills");
-        List<BillDto> bills = billService.getAllBills();
-        return ResponseEntity.ok(ApiResponse.success(bills, "Bills retrieved successfully"));
+    public ResponseEntity<ApiResponse<List<?>>> getAllBills(
+            @Parameter(description = "Cursor returned as 'nextCursor' by the previous page") @RequestParam(required = false) String after,
+            @Parameter(description = "Maximum number of bills per page") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "FULL bills with persons or SUMMARY without") @RequestParam(defaultValue = "FULL") BillView view,
+            WebRequest webRequest) {
+        String etag = ETags.forCollection(billService.getCollectionState(), view);
+        if (webRequest.checkNotModified(etag)) {
+            return notModified();
+        }
+        
+        if (view == BillView.SUMMARY) {
+            if (after == null && limit == null) {
+                log.debug("GET /api/v1/bills?view=SUMMARY - Fetching all bill summaries");
+                List<BillSummaryDto> bills = billService.getAllBillSummaries();
+                return conditional(etag).body(ApiResponse.success(bills, "Bills retrieved successfully"));
+            }
+            log.debug("GET /api/v1/bills?view=SUMMARY&after={}&limit={} - Fetching bill summaries page", after, limit);
+            BillSummaryPageDto page = billService.getBillSummariesPage(after, limit != null ? limit : BillService.DEFAULT_PAGE_SIZE);
+            return conditional(etag).body(ApiResponse.success(page.getBills(), "Bills retrieved successfully", page.getNextCursor()));
+        }
+        
+        if (after == null && limit == null) {
+            log.debug("GET /api/v1/bills - Fetching all bills");
+            List<BillDto> bills = billService.getAllBills();
+            return conditional(etag).body(ApiResponse.success(bills, "Bills retrieved successfully"));
+        }
+        
+        log.debug("GET /api/v1/bills?after={}&limit={} - Fetching bills page", after, limit);
+        BillPageDto page = billService.getBillsPage(after, limit != null ? limit : BillService.DEFAULT_PAGE_SIZE);
+        return conditional(etag).body(ApiResponse.success(page.getBills(), "Bills retrieved successfully", page.getNextCursor()));
+    }
+    
+    /**
+     * Query bills with combined filters
+     */
+    @GetMapping("/query")
+    @Operation(summary = "Query bills",
+            description = "Retrieve a page of bills matching all given filters, in the given sort order. " +
+                    "Follow 'nextCursor' with the same filters and sort for the next page")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved bills"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid filter, cursor or limit"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ApiResponse<List<BillDto>>> queryBills(
+            @Parameter(description = "Only bills with this status") @RequestParam(required = false) BillStatus status,
+            @Parameter(description = "Only bills dated on or after this date")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Only bills dated on or before this date")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Only bills with at least this total amount") @RequestParam(required = false) BigDecimal minAmount,
+            @Parameter(description = "Only bills with at most this total amount") @RequestParam(required = false) BigDecimal maxAmount,
+            @Parameter(description = "Only bills whose title contains this text") @RequestParam(required = false) String title,
+            @Parameter(description = "Only bills including this participant") @RequestParam(required = false) String participant,
+            @Parameter(description = "Sort order") @RequestParam(defaultValue = "BILL_DATE_DESC") BillSortOrder sort,
+            @Parameter(description = "Cursor returned as 'nextCursor' by the previous page") @RequestParam(required = false) String after,
+            @Parameter(description = "Maximum number of bills per page") @RequestParam(defaultValue = "20") int limit) {
+        BillQueryCriteria criteria = BillQueryCriteria.builder()
+                .status(status)
+                .fromDate(from)
+                .toDate(to)
+                .minAmount(minAmount)
+                .maxAmount(maxAmount)
+                .title(title == null || title.isBlank() ? null : title)
+                .participant(participant == null || participant.isBlank() ? null : participant)
+                .sort(sort)
+                .build();
+        log.debug("GET /api/v1/bills/query - Querying bills with {}", criteria);
+        BillPageDto page = billService.queryBills(criteria, after, limit);
+        return ResponseEntity.ok(ApiResponse.success(page.getBills(), "Bills retrieved successfully", page.getNextCursor()));
+    }
+    
+    /**
+     * Export all bills
+     */
+    @GetMapping("/export")
+    @Operation(summary = "Export all bills",
+            description = "Stream every bill with its persons as NDJSON (one bill per line) or CSV (one row per person)")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<StreamingResponseBody> exportBills(
+            @Parameter(description = "Export format") @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        log.debug("GET /api/v1/bills/export?format={} - Exporting all bills", format);
+        StreamingResponseBody body = outputStream -> billExportService.exportBills(format, outputStream);
+        boolean csv = format == ExportFormat.CSV;
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv") : new MediaType("application", "x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=bills." + (csv ? "csv" : "ndjson"))
+                .body(body);
+    }
+    
+    /**
+     * Get bill changes since a token
+     */
+    @GetMapping("/changes")
+    @Operation(summary = "Get bill changes",
+            description = "Retrieve bills created or updated and IDs of bills deleted since the given token. " +
+                    "Start without a token for a full sync, then poll with 'nextToken'; poll again right away " +
+                    "while 'hasMore' is true")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved changes"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid token or limit"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ApiResponse<BillChangesDto>> getBillChanges(
+            @Parameter(description = "Token returned as 'nextToken' by the previous poll") @RequestParam(required = false) String since,
+            @Parameter(description = "Maximum number of changes (changed plus deleted bills) to return") @RequestParam(defaultValue = "100") int limit) {
+        log.debug("GET /api/v1/bills/changes?since={}&limit={} - Fetching bill changes", since, limit);
+        BillChangesDto changes = billChangesService.getChanges(since, limit);
+        return ResponseEntity.ok(ApiResponse.success(changes, "Bill changes retrieved successfully"));
+    }
+    
+    /**
+     * Stream bill changes as Server-Sent Events
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream bill changes",
+            description = "Push every committed bill change (CREATED, UPDATED, DELETED, PAYMENT_TOGGLED, STATUS_CHANGED) " +
+                    "as a Server-Sent Event, optionally only for one bill and/or bills with a given status. " +
+                    "Slow readers may miss events; after reconnecting, catch up through /changes")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "Too many open streams")
+    })
+    public SseEmitter streamBillChanges(
+            @Parameter(description = "Only send changes of this bill") @RequestParam(required = false) Long billId,
+            @Parameter(description = "Only send changes leaving a bill in this status") @RequestParam(required = false) BillStatus status) {
+        log.debug("GET /api/v1/bills/stream?billId={}&status={} - Opening bill stream", billId, status);
+        return billEventBroadcaster.subscribe(billId, status);
     }
     
     /**
      * Get bill by ID
      */
     @GetMapping("/{id}")
-    @Operation(summary = "Get bill by ID", description = "Retrieve a specific bill by its ID")
+    @Operation(summary = "Get bill by ID",
+            description = "Retrieve a specific bill by its ID. The ETag is the bill's version; send it as " +
+                    "If-None-Match to get 304 while the bill is unchanged")
     @ApiResponses(value = {
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved bill"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved bill",
+                    content = @Content(schema = @Schema(implementation = BillApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Bill has not changed since the given ETag"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Bill not found"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ApiResponse<BillDto>> getBillById(
-            @Parameter(description = "Bill ID") @PathVariable Long id) {
+    public ResponseEntity<ApiResponse<RawValue>> getBillById(
+            @Parameter(description = "Bill ID") @PathVariable Long id,
+            WebRequest webRequest,
+            HttpServletResponse response) {
         log.debug("GET /api/v1/bills/{} - Fetching bill by ID", id);
-        BillDto bill = billService.getBillById(id);
-        return ResponseEntity.ok(ApiResponse.success(bill, "Bill retrieved successfully"));
+        // Only the version is read here, so a 304 never loads persons or serializes anything
+        Long version = billService.getBillVersion(id);
+        if (webRequest.checkNotModified(ETags.forVersion(version))) {
+            return notModified();
+        }
+        
+        // The bill is written from its cached JSON; the documented schema is that of BillDto
+        BillResponseCache.SerializedBill bill = billResponseCache.getBill(id, version);
+        String etag = ETags.forVersion(bill.version());
+        // If the bill changed since its version was read, tag the body with the version it was serialized from;
+        // checkNotModified has already set the header, which takes precedence over the one of the ResponseEntity
+        response.setHeader(HttpHeaders.ETAG, etag);
+        return conditional(etag).body(ApiResponse.success(bill.json(), "Bill retrieved successfully"));
     }
     
     /**
@@ -81,23 +273,72 @@ public class BillController {
                 .body(ApiResponse.success(createdBill, "Bill created successfully"));
     }
     
+    /**
+     * Create many bills at once
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Create bills in bulk",
+            description = "Create many bills in one request. Each bill is validated and created independently " +
+                    "and the response reports the outcome of every bill in request order")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Batch processed, see per-bill results"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid batch request"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ApiResponse<BillBatchResultDto>> createBills(
+            @Parameter(description = "Bills to create") @Valid @RequestBody BillBatchCreateRequest request) {
+        log.debug("POST /api/v1/bills/batch - Creating {} bills", request.getBills().size());
+        BillBatchResultDto result = billBatchService.createBills(request.getBills());
+        return ResponseEntity.ok(ApiResponse.success(result,
+                String.format("Batch processed: %d created, %d failed", result.getCreated(), result.getFailed())));
+    }
+    
+    /**
+     * Import bills from a file
+     */
+    @PostMapping("/import")
+    @Operation(summary = "Import bills",
+            description = "Import bills from an NDJSON body (one bill creation request per line) or a CSV body " +
+                    "(columns title, total_amount, operator, bill_date, person_name and optionally bill_id and " +
+                    "person_amount; consecutive rows with the same bill_id form one bill). The body is parsed " +
+                    "incrementally and invalid records are reported without stopping the import")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Import processed, see rejected records"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid import file"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ApiResponse<BillImportResultDto>> importBills(
+            @Parameter(description = "Import format") @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @Parameter(hidden = true) InputStream body) {
+        log.debug("POST /api/v1/bills/import?format={} - Importing bills", format);
+        BillImportResultDto result = billImportService.importBills(format, body);
+        return ResponseEntity.ok(ApiResponse.success(result,
+                String.format("Import finished: %d imported, %d rejected", result.getImported(), result.getRejected())));
+    }
+    
     /**
      * Update bill
      */
     @PutMapping("/{id}")
-    @Operation(summary = "Update bill", description = "Update an existing bill with the provided information")
+    @Operation(summary = "Update bill",
+            description = "Update an existing bill with the provided information. Send the bill's ETag as " +
+                    "If-Match to only update it while unchanged")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Bill updated successfully"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid input data"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Bill not found"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Bill was modified concurrently"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "412", description = "Bill does not match If-Match"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<ApiResponse<BillDto>> updateBill(
             @Parameter(description = "Bill ID") @PathVariable Long id,
-            @Parameter(description = "Updated bill information") @Valid @RequestBody BillUpdateRequest request) {
+            @Parameter(description = "Updated bill information") @Valid @RequestBody BillUpdateRequest request,
+            @Parameter(description = "ETag the bill must still have") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.debug("PUT /api/v1/bills/{} - Updating bill", id);
-        BillDto updatedBill = billService.updateBill(id, request);
-        return ResponseEntity.ok(ApiResponse.success(updatedBill, "Bill updated successfully"));
+        BillDto updatedBill = billService.updateBill(id, request, ETags.parseVersion(ifMatch));
+        return conditional(ETags.forVersion(updatedBill.getVersion()))
+                .body(ApiResponse.success(updatedBill, "Bill updated successfully"));
     }
     
     /**
@@ -121,31 +362,41 @@ public class BillController {
      * Get bills by status
      */
     @GetMapping("/status/{status}")
-    @Operation(summary = "Get bills by status", description = "Retrieve bills filtered by their status")
+    @Operation(summary = "Get bills by status",
+            description = "Retrieve bills filtered by their status. Supports If-None-Match with the returned collection ETag")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved bills"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "No bill has changed since the given ETag"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<ApiResponse<List<BillDto>>> getBillsByStatus(
-            @Parameter(description = "Bill status") @PathVariable BillStatus status) {
+            @Parameter(description = "Bill status") @PathVariable BillStatus status,
+            WebRequest webRequest) {
         log.debug("GET /api/v1/bills/status/{} - Fetching bills by status", status);
+        String etag = ETags.forCollection(billService.getCollectionState());
+        if (webRequest.checkNotModified(etag)) {
+            return notModified();
+        }
         List<BillDto> bills = billService.getBillsByStatus(status);
-        return ResponseEntity.ok(ApiResponse.success(bills, "Bills retrieved successfully"));
+        return conditional(etag).body(ApiResponse.success(bills, "Bills retrieved successfully"));
     }
     
     /**
      * Get bills by title
      */
     @GetMapping("/search")
-    @Operation(summary = "Search bills by title", description = "Retrieve bills that contain the specified text in their title")
+    @Operation(summary = "Search bills by title",
+            description = "Retrieve bills that contain the specified text in their title, best matches first")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved bills"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid limit"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<ApiResponse<List<BillDto>>> searchBillsByTitle(
-            @Parameter(description = "Title search term") @RequestParam String title) {
-        log.debug("GET /api/v1/bills/search?title={} - Searching bills by title", title);
-        List<BillDto> bills = billService.getBillsByTitle(title);
+            @Parameter(description = "Title search term") @RequestParam String title,
+            @Parameter(description = "Maximum number of bills to return") @RequestParam(defaultValue = "50") int limit) {
+        log.debug("GET /api/v1/bills/search?title={}&limit={} - Searching bills by title", title, limit);
+        List<BillDto> bills = billService.getBillsByTitle(title, limit);
         return ResponseEntity.ok(ApiResponse.success(bills, "Bills retrieved successfully"));
     }
     
@@ -153,18 +404,25 @@ public class BillController {
      * Pay bill for a specific person
      */
     @PatchMapping("/{id}/pay")
-    @Operation(summary = "Pay bill for person", description = "Toggle payment status for a specific person in the bill")
+    @Operation(summary = "Pay bill for person",
+            description = "Toggle payment status for a specific person in the bill. Toggles for the same bill are " +
+                    "applied one after another, several at a time, and the response carries the bill after the toggle")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Payment status updated successfully"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Bill or person not found"),
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Bill was modified concurrently"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "412", description = "Bill does not match If-Match"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "Too many pending payment changes")
     })
-    public ResponseEntity<ApiResponse<BillDto>> payBill(
+    public CompletableFuture<ResponseEntity<ApiResponse<BillDto>>> payBill(
             @Parameter(description = "Bill ID") @PathVariable Long id,
-            @Parameter(description = "Person ID") @RequestParam Long personId) {
+            @Parameter(description = "Person ID") @RequestParam Long personId,
+            @Parameter(description = "ETag the bill must still have") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.debug("PATCH /api/v1/bills/{}/pay - Toggling payment status for person {}", id, personId);
-        BillDto updatedBill = billService.togglePersonPaymentStatus(id, personId);
-        return ResponseEntity.ok(ApiResponse.success(updatedBill, "Payment status updated successfully"));
+        return billMutationExecutor.togglePersonPaymentStatus(id, personId, ETags.parseVersion(ifMatch))
+                .thenApply(updatedBill -> conditional(ETags.forVersion(updatedBill.getVersion()))
+                        .body(ApiResponse.success(updatedBill, "Payment status updated successfully")));
     }
 
     /**
@@ -183,4 +441,29 @@ public class BillController {
         BillDto updatedBill = billService.updateBillStatus(id);
         return ResponseEntity.ok(ApiResponse.success(updatedBill, "Bill status updated successfully"));
     }
+    
+    /**
+     * Start a 200 response carrying the given ETag; clients must revalidate before reusing it
+     */
+    private static ResponseEntity.BodyBuilder conditional(String etag) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache());
+    }
+    
+    /**
+     * Build a 304 response for a matching If-None-Match; checkNotModified has already set the status and ETag
+     */
+    private static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .cacheControl(CacheControl.noCache())
+                .build();
+    }
+    
+    /**
+     * Response body of a single bill for the API documentation, where the bill itself is written as raw JSON
+     */
+    @Schema(name = "ApiResponseBillDto")
+    private static class BillApiResponse extends ApiResponse<BillDto> {
+    }
 }
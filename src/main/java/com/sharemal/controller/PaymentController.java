@@ -0,0 +1,47 @@
+package com.sharemal.controller;
+
+import com.sharemal.dto.ApiResponse;
+import com.sharemal.dto.BulkPaymentRequest;
+import com.sharemal.dto.BulkPaymentResultDto;
+import com.sharemal.service.PaymentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for payments spanning many bills
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/payments")
+@RequiredArgsConstructor
+@Tag(name = "Payments", description = "APIs for paying shares across bills")
+public class PaymentController {
+    
+    private final PaymentService paymentService;
+    
+    /**
+     * Mark many shares as paid at once
+     */
+    @PostMapping("/bulk")
+    @Operation(summary = "Mark shares as paid in bulk",
+            description = "Mark the persons with the given IDs, or every unpaid share of the given participant " +
+                    "(matched by name, ignoring case and surrounding whitespace), as paid in one transaction. " +
+                    "Shares already paid are skipped; bills whose shares are now all paid become complete")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Shares marked as paid"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Neither or both of personIds and participant given"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ApiResponse<BulkPaymentResultDto>> markPaid(@Valid @RequestBody BulkPaymentRequest request) {
+        log.debug("POST /api/v1/payments/bulk - Marking shares as paid");
+        BulkPaymentResultDto result = paymentService.markPaid(request);
+        return ResponseEntity.ok(ApiResponse.success(result,
+                String.format("Marked %d shares as paid across %d bills", result.getPaidCount(), result.getBillCount())));
+    }
+}
@@ -0,0 +1,47 @@
+package com.sharemal.controller;
+
+import com.sharemal.dto.ApiResponse;
+import com.sharemal.dto.NameSuggestionDto;
+import com.sharemal.service.PersonService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for Person operations
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/persons")
+@RequiredArgsConstructor
+@Tag(name = "Person Management", description = "APIs for bill participants")
+public class PersonController {
+    
+    private final PersonService personService;
+    
+    /**
+     * Suggest participant names
+     */
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest participant names",
+            description = "Autocomplete participant names used on earlier bills, most used first")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved suggestions"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid limit"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ApiResponse<List<NameSuggestionDto>>> suggestNames(
+            @Parameter(description = "Name prefix") @RequestParam(defaultValue = "") String prefix,
+            @Parameter(description = "Maximum number of suggestions") @RequestParam(defaultValue = "10") int limit) {
+        log.debug("GET /api/v1/persons/suggest?prefix={}&limit={} - Suggesting names", prefix, limit);
+        List<NameSuggestionDto> suggestions = personService.suggestNames(prefix, limit);
+        return ResponseEntity.ok(ApiResponse.success(suggestions, "Suggestions retrieved successfully"));
+    }
+}
@@ -0,0 +1,46 @@
+package com.sharemal.controller;
+
+import com.sharemal.dto.ApiResponse;
+import com.sharemal.dto.SettlementDto;
+import com.sharemal.dto.SettlementRequest;
+import com.sharemal.service.SettlementService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for settling up groups
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/settlements")
+@RequiredArgsConstructor
+@Tag(name = "Settlements", description = "APIs for settling up who pays whom")
+public class SettlementController {
+    
+    private final SettlementService settlementService;
+    
+    /**
+     * Compute the transfers settling a group
+     */
+    @PostMapping
+    @Operation(summary = "Settle up a group",
+            description = "Turn net balances (positive when owed, negative when owing, adding up to zero) into " +
+                    "a short list of transfers; a group of n participants needs at most n - 1 transfers")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Settlement computed successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid balances"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ApiResponse<SettlementDto>> settle(@Valid @RequestBody SettlementRequest request) {
+        log.debug("POST /api/v1/settlements - Settling {} balances", request.getBalances().size());
+        SettlementDto settlement = settlementService.settle(request);
+        return ResponseEntity.ok(ApiResponse.success(settlement,
+                String.format("Settled with %d transfers", settlement.getTransfers().size())));
+    }
+}
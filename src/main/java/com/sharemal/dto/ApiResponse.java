@@ -1,6 +1,7 @@
 package com.sharemal.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -24,6 +25,12 @@ public class ApiResponse<T> {
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
     private LocalDateTime timestamp;
     
+    /**
+     * Opaque cursor for the next page of a paged response, omitted otherwise
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+    
     public static <T> ApiResponse<T> success(T data) {
         return ApiResponse.<T>builder()
                 .data(data)
@@ -42,6 +49,16 @@ public class ApiResponse<T> {
                 .build();
     }
     
+    public static <T> ApiResponse<T> success(T data, String message, String nextCursor) {
+        return ApiResponse.<T>builder()
+                .data(data)
+                .message(message)
+                .status(ResponseStatus.SUCCESS)
+                .timestamp(LocalDateTime.now())
+                .nextCursor(nextCursor)
+                .build();
+    }
+    
     public static <T> ApiResponse<T> error(String message) {
         return ApiResponse.<T>builder()
                 .data(null)
@@ -0,0 +1,37 @@
+package com.sharemal.dto;
+
+import com.sharemal.model.Money;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object for the amount one participant still owes across bills
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceDto {
+    
+    /**
+     * One spelling of the participant's name; names are matched case-insensitively and trimmed
+     */
+    private String name;
+    private Money outstandingAmount;
+    
+    /**
+     * Number of unpaid shares making up the outstanding amount
+     */
+    private long unpaidCount;
+    
+    /**
+     * Constructor for JPQL projections, where SUM over the amount column yields a BigDecimal
+     */
+    public BalanceDto(String name, BigDecimal outstandingAmount, long unpaidCount) {
+        this(name, Money.of(outstandingAmount), unpaidCount);
+    }
+}
@@ -0,0 +1,25 @@
+package com.sharemal.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for creating many bills at once.
+ * Items are validated one by one by the service, so a bad item is reported instead of rejecting the batch.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BillBatchCreateRequest {
+    
+    @NotEmpty(message = "At least one bill is required")
+    @Size(max = 1000, message = "At most 1000 bills can be created per batch")
+    private List<BillCreateRequest> bills;
+}
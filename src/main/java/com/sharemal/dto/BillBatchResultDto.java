@@ -0,0 +1,41 @@
+package com.sharemal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch bill creation, with one result per submitted bill in request order
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BillBatchResultDto {
+    
+    private int total;
+    private int created;
+    private int failed;
+    private List<ItemResult> results;
+    
+    /**
+     * Result for a single bill of the batch
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResult {
+        private int index;
+        private ItemStatus status;
+        private Long billId;
+        private String error;
+    }
+    
+    public enum ItemStatus {
+        CREATED, FAILED
+    }
+}
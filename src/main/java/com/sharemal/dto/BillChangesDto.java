@@ -0,0 +1,38 @@
+package com.sharemal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Bills created, updated or deleted since a change token, with the token to poll with next
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BillChangesDto {
+    
+    /**
+     * Bills created or updated since the token, in the order they changed
+     */
+    private List<BillDto> bills;
+    
+    /**
+     * IDs of bills deleted since the token
+     */
+    private List<Long> deletedBillIds;
+    
+    /**
+     * Opaque token to pass as 'since' on the next poll
+     */
+    private String nextToken;
+    
+    /**
+     * True when more changes are already waiting and the client should poll again right away
+     */
+    private boolean hasMore;
+}
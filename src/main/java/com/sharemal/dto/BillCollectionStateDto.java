@@ -0,0 +1,19 @@
+package com.sharemal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Number of bills and the latest bill modification time, used to version bill collections
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BillCollectionStateDto {
+    
+    private long count;
+    private LocalDateTime lastModified;
+}
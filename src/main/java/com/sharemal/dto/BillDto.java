@@ -2,14 +2,15 @@ package com.sharemal.dto;
 
 import com.sharemal.enums.BillStatus;
 import com.sharemal.enums.OperatorType;
+import com.sharemal.model.Money;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -23,11 +24,24 @@ public class BillDto {
     
     private Long id;
     private String title;
-    private BigDecimal totalAmount;
+    private Money totalAmount;
     private OperatorType operator;
     private LocalDate billDate;
     private BillStatus status;
     private List<PersonDto> persons;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    
+    /**
+     * Optimistic locking version; send it back on updates to reject changes made from a stale copy
+     */
+    private Long version;
+    
+    /**
+     * Constructor for JPQL projections; persons are attached afterwards
+     */
+    public BillDto(Long id, String title, Money totalAmount, OperatorType operator, LocalDate billDate,
+                   BillStatus status, LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
+        this(id, title, totalAmount, operator, billDate, status, new ArrayList<>(), createdAt, updatedAt, version);
+    }
 }
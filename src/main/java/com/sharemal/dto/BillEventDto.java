@@ -0,0 +1,26 @@
+package com.sharemal.dto;
+
+import com.sharemal.enums.BillStatus;
+import com.sharemal.event.BillChangedEvent;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for a bill change pushed to stream subscribers
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BillEventDto {
+    
+    private BillChangedEvent.ChangeType type;
+    private Long billId;
+    private String title;
+    private BillStatus status;
+    private LocalDateTime occurredAt;
+}
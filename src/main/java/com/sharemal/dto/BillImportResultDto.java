@@ -0,0 +1,43 @@
+package com.sharemal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bill import
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BillImportResultDto {
+    
+    private long processed;
+    private long imported;
+    private long rejected;
+    
+    /**
+     * The first rejected records; only a bounded number is kept so large imports stay in constant memory
+     */
+    private List<RejectedRecord> rejections;
+    private boolean rejectionsTruncated;
+    
+    /**
+     * A record of the import file that was not imported
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RejectedRecord {
+        /**
+         * Line number of the record (the first row of the bill for CSV)
+         */
+        private long line;
+        private String reason;
+    }
+}
@@ -0,0 +1,25 @@
+package com.sharemal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A page of bills with the cursor to fetch the next page
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BillPageDto {
+    
+    private List<BillDto> bills;
+    
+    /**
+     * Opaque cursor for the next page, null when this is the last page
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,52 @@
+package com.sharemal.dto;
+
+import com.sharemal.enums.BillSortOrder;
+import com.sharemal.enums.BillStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Filters, sort order and keyset position of a bill query; null filters are not applied
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BillQueryCriteria {
+    
+    private BillStatus status;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+    
+    /**
+     * Text contained in the title (case-insensitive)
+     */
+    private String title;
+    
+    /**
+     * Name of a participant the bill must include (case-insensitive, surrounding whitespace ignored)
+     */
+    private String participant;
+    
+    @Builder.Default
+    private BillSortOrder sort = BillSortOrder.BILL_DATE_DESC;
+    
+    /**
+     * Sort key of the last bill of the previous page (a LocalDate or Money), null for the first page
+     */
+    private Comparable<?> afterKey;
+    
+    /**
+     * ID of the last bill of the previous page, null for the first page
+     */
+    private Long afterId;
+    
+    private int limit;
+}
@@ -0,0 +1,40 @@
+package com.sharemal.dto;
+
+import com.sharemal.enums.BillStatus;
+import com.sharemal.enums.OperatorType;
+import com.sharemal.model.Money;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for a bill in a list, without its persons
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BillSummaryDto {
+    
+    private Long id;
+    private String title;
+    private Money totalAmount;
+    private OperatorType operator;
+    private LocalDate billDate;
+    private BillStatus status;
+    
+    /**
+     * Number of persons on the bill and how many of them have paid how much, from the bill's counters
+     */
+    private int personCount;
+    private int paidCount;
+    private Money paidAmount;
+    
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long version;
+}
@@ -0,0 +1,25 @@
+package com.sharemal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A page of bill summaries with the cursor to fetch the next page
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BillSummaryPageDto {
+    
+    private List<BillSummaryDto> bills;
+    
+    /**
+     * Opaque cursor for the next page, null when this is the last page
+     */
+    private String nextCursor;
+}
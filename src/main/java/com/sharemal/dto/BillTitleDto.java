@@ -0,0 +1,17 @@
+package com.sharemal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Projection of a bill's ID and title, used to build the title search index
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BillTitleDto {
+    
+    private Long id;
+    private String title;
+}
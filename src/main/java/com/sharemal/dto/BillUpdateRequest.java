@@ -31,5 +31,13 @@ public class BillUpdateRequest {
     
     private LocalDate billDate;
     
+    /**
+     * Optional; the status is derived from the payments, so a value that differs from it is rejected
+     */
     private BillStatus status;
+    
+    /**
+     * Version the client last read; when given, the update is rejected if the bill has changed since
+     */
+    private Long version;
 }
@@ -0,0 +1,30 @@
+package com.sharemal.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for marking many shares as paid at once: either the persons with the given IDs or
+ * every unpaid share of one participant
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkPaymentRequest {
+    
+    @Size(min = 1, max = 100000, message = "Between 1 and 100000 person IDs can be marked at once")
+    private List<@NotNull(message = "Person ID is required") Long> personIds;
+    
+    /**
+     * Participant name, matched across bills ignoring case and surrounding whitespace
+     */
+    @Size(min = 1, max = 100, message = "Person name must be between 1 and 100 characters")
+    private String participant;
+}
@@ -0,0 +1,24 @@
+package com.sharemal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a bulk payment: how many shares were marked as paid and how many bills they belong to
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkPaymentResultDto {
+    
+    private int paidCount;
+    private int billCount;
+    
+    /**
+     * Bills that are complete now that the shares are paid
+     */
+    private int completedBillCount;
+}
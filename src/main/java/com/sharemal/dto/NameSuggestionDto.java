@@ -0,0 +1,19 @@
+package com.sharemal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A participant name suggestion with the number of bill shares that use it
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NameSuggestionDto {
+    
+    private String name;
+    private long count;
+}
@@ -0,0 +1,17 @@
+package com.sharemal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A person's share of a bill, identified by the person and bill IDs
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentShareDto {
+    
+    private Long personId;
+    private Long billId;
+}
@@ -1,7 +1,7 @@
 package com.sharemal.dto;
 
 import com.sharemal.enums.PaymentStatus;
-import jakarta.validation.constraints.DecimalMin;
+import com.sharemal.model.Money;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -10,7 +10,6 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 
 /**
  * Data Transfer Object for Person entity
@@ -28,8 +27,7 @@ public class PersonDto {
     private String name;
     
     @NotNull(message = "Amount is required")
-    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
-    private BigDecimal amount;
+    private Money amount;
     
     private PaymentStatus paymentStatus;
     
@@ -0,0 +1,36 @@
+package com.sharemal.dto;
+
+import com.sharemal.model.Money;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the transfers that settle a group
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SettlementDto {
+    
+    private List<TransferDto> transfers;
+    private Money totalAmount;
+    
+    /**
+     * One participant paying another
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TransferDto {
+        
+        private String from;
+        private String to;
+        private Money amount;
+    }
+}
@@ -0,0 +1,51 @@
+package com.sharemal.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Request DTO for settling up a group: every participant's net balance, which must add up to zero
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SettlementRequest {
+    
+    @NotEmpty(message = "At least one balance is required")
+    @Size(max = 10000, message = "At most 10000 balances can be settled at once")
+    @Valid
+    private List<NetBalance> balances;
+    
+    /**
+     * Net balance of one participant
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class NetBalance {
+        
+        @NotBlank(message = "Person name is required")
+        @Size(min = 1, max = 100, message = "Person name must be between 1 and 100 characters")
+        private String name;
+        
+        /**
+         * Positive when the participant is owed money, negative when they owe
+         */
+        @NotNull(message = "Balance amount is required")
+        @Digits(integer = 10, fraction = 2, message = "Balance amount must have at most 10 integer digits and 2 decimals")
+        private BigDecimal amount;
+    }
+}
@@ -0,0 +1,34 @@
+package com.sharemal.enums;
+
+/**
+ * Sort orders for bill queries; each is backed by an index ending in the bill ID, which breaks ties
+ */
+public enum BillSortOrder {
+    /**
+     * Newest bill date first
+     */
+    BILL_DATE_DESC,
+    
+    /**
+     * Oldest bill date first
+     */
+    BILL_DATE_ASC,
+    
+    /**
+     * Largest total amount first
+     */
+    TOTAL_AMOUNT_DESC,
+    
+    /**
+     * Smallest total amount first
+     */
+    TOTAL_AMOUNT_ASC;
+    
+    public boolean isDescending() {
+        return this == BILL_DATE_DESC || this == TOTAL_AMOUNT_DESC;
+    }
+    
+    public boolean isByBillDate() {
+        return this == BILL_DATE_DESC || this == BILL_DATE_ASC;
+    }
+}
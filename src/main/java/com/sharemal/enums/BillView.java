@@ -0,0 +1,16 @@
+package com.sharemal.enums;
+
+/**
+ * Enum representing how much of each bill a bill listing returns
+ */
+public enum BillView {
+    /**
+     * Every bill field including the persons
+     */
+    FULL,
+    
+    /**
+     * Bill fields and payment counters only, read from the bills table; persons are loaded per bill
+     */
+    SUMMARY
+}
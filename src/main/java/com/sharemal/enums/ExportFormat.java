@@ -0,0 +1,16 @@
+package com.sharemal.enums;
+
+/**
+ * Enum representing the file formats supported for bill export and import
+ */
+public enum ExportFormat {
+    /**
+     * Newline-delimited JSON, one bill with its persons per line
+     */
+    NDJSON,
+    
+    /**
+     * Comma-separated values, one row per person with the bill columns repeated
+     */
+    CSV
+}
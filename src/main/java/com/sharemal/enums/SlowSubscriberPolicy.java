@@ -0,0 +1,16 @@
+package com.sharemal.enums;
+
+/**
+ * What to do when a stream subscriber's buffer is full because it reads slower than events arrive
+ */
+public enum SlowSubscriberPolicy {
+    /**
+     * Drop the oldest buffered event to make room for the new one
+     */
+    DROP_OLDEST,
+    
+    /**
+     * Close the subscriber's stream; the client reconnects and catches up through the change feed
+     */
+    DISCONNECT
+}
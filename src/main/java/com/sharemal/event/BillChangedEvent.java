@@ -0,0 +1,49 @@
+package com.sharemal.event;
+
+import com.sharemal.dto.BillDto;
+import com.sharemal.enums.BillStatus;
+import com.sharemal.model.Bill;
+import lombok.Value;
+
+/**
+ * Application event published by the bill write paths inside their transaction.
+ * Listeners that keep derived state in sync should use
+ * {@link org.springframework.transaction.event.TransactionalEventListener} so they only see committed changes.
+ */
+@Value
+public class BillChangedEvent {
+    
+    ChangeType type;
+    Long billId;
+    String title;
+    
+    /**
+     * Status of the bill after the change (its last status for deletions)
+     */
+    BillStatus status;
+    
+    /**
+     * Create an event for a change to the given bill
+     */
+    public static BillChangedEvent of(ChangeType type, Bill bill) {
+        return new BillChangedEvent(type, bill.getId(), bill.getTitle(), bill.getStatus());
+    }
+    
+    /**
+     * Create an event for a change to the bill read as the given DTO, for write paths that bypass the entity
+     */
+    public static BillChangedEvent of(ChangeType type, BillDto bill) {
+        return new BillChangedEvent(type, bill.getId(), bill.getTitle(), bill.getStatus());
+    }
+    
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED, PAYMENT_TOGGLED, STATUS_CHANGED;
+        
+        /**
+         * Whether the change can affect the bill's title or existence, as opposed to payments only
+         */
+        public boolean affectsTitle() {
+            return this == CREATED || this == UPDATED || this == DELETED;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.sharemal.event;
+
+import com.sharemal.enums.PaymentStatus;
+import com.sharemal.model.Money;
+import com.sharemal.model.Person;
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * Application event published when a person's payment status changes, so aggregates over
+ * payments can be adjusted by the person's amount instead of being recomputed
+ */
+@Value
+public class PaymentStatusChangedEvent {
+    
+    Long billId;
+    LocalDate billDate;
+    String name;
+    Money amount;
+    
+    /**
+     * Payment status of the person after the change
+     */
+    PaymentStatus paymentStatus;
+    
+    /**
+     * Create an event for the given person's current payment status
+     */
+    public static PaymentStatusChangedEvent of(Person person) {
+        return new PaymentStatusChangedEvent(person.getBill().getId(), person.getBill().getBillDate(),
+                person.getName(), person.getAmount(), person.getPaymentStatus());
+    }
+}
@@ -0,0 +1,13 @@
+package com.sharemal.event;
+
+import lombok.Value;
+
+/**
+ * Application event published when shares were marked as paid in bulk. The individual persons are not
+ * reported, so aggregates over payments have to be recomputed rather than adjusted.
+ */
+@Value
+public class PaymentsBulkPaidEvent {
+    
+    int paidCount;
+}
@@ -0,0 +1,23 @@
+package com.sharemal.event;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Application event published when persons are added to or removed from bills, carrying their names
+ */
+@Value
+public class PersonNamesChangedEvent {
+    
+    List<String> addedNames;
+    List<String> removedNames;
+    
+    public static PersonNamesChangedEvent added(List<String> names) {
+        return new PersonNamesChangedEvent(names, List.of());
+    }
+    
+    public static PersonNamesChangedEvent removed(List<String> names) {
+        return new PersonNamesChangedEvent(List.of(), names);
+    }
+}
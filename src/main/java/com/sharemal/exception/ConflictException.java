@@ -0,0 +1,17 @@
+package com.sharemal.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when a change conflicts with a concurrent modification of the same resource
+ */
+public class ConflictException extends BaseException {
+    
+    public ConflictException(String message) {
+        super(message, "CONFLICT", HttpStatus.CONFLICT);
+    }
+    
+    public ConflictException(String message, Throwable cause) {
+        super(message, "CONFLICT", HttpStatus.CONFLICT, cause);
+    }
+}
@@ -0,0 +1,17 @@
+package com.sharemal.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when a conditional request's precondition (e.g. If-Match) does not hold
+ */
+public class PreconditionFailedException extends BaseException {
+    
+    public PreconditionFailedException(String message) {
+        super(message, "PRECONDITION_FAILED", HttpStatus.PRECONDITION_FAILED);
+    }
+    
+    public PreconditionFailedException(String message, Throwable cause) {
+        super(message, "PRECONDITION_FAILED", HttpStatus.PRECONDITION_FAILED, cause);
+    }
+}
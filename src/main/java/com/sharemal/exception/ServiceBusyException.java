@@ -0,0 +1,17 @@
+package com.sharemal.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when a request cannot be queued because the service is at capacity
+ */
+public class ServiceBusyException extends BaseException {
+    
+    public ServiceBusyException(String message) {
+        super(message, "SERVICE_BUSY", HttpStatus.SERVICE_UNAVAILABLE);
+    }
+    
+    public ServiceBusyException(String message, Throwable cause) {
+        super(message, "SERVICE_BUSY", HttpStatus.SERVICE_UNAVAILABLE, cause);
+    }
+}
@@ -16,8 +16,13 @@ import java.time.LocalDateTime;
 @EntityListeners(AuditingEntityListener.class)
 public abstract class BaseEntity {
     
+    /**
+     * Sequence-based ID so Hibernate can assign IDs before insert and batch the INSERT statements.
+     * Each entity gets its own {@code <table>_seq} sequence (emulated with a table on MySQL), and the
+     * pooled optimizer hands out blocks of 50 IDs per sequence call.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
     
     @CreatedDate
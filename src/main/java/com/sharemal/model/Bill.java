@@ -2,8 +2,8 @@ package com.sharemal.model;
 
 import com.sharemal.enums.BillStatus;
 import com.sharemal.enums.OperatorType;
+import com.sharemal.enums.PaymentStatus;
 import jakarta.persistence.*;
-import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -12,8 +12,9 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -22,7 +23,14 @@ import java.util.List;
  * Bill entity representing a bill with multiple participants
  */
 @Entity
-@Table(name = "bills")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "bills", indexes = {
+        @Index(name = "idx_bills_bill_date_id", columnList = "bill_date desc, id desc"),
+        @Index(name = "idx_bills_status_bill_date_id", columnList = "status, bill_date desc, id desc"),
+        @Index(name = "idx_bills_total_amount_id", columnList = "total_amount, id"),
+        @Index(name = "idx_bills_updated_at_id", columnList = "updated_at, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -36,9 +44,8 @@ public class Bill extends BaseEntity {
     private String title;
     
     @NotNull(message = "Total amount is required")
-    @DecimalMin(value = "0.01", message = "Total amount must be greater than 0")
     @Column(name = "total_amount", nullable = false, precision = 10, scale = 2)
-    private BigDecimal totalAmount;
+    private Money totalAmount;
     
     @NotNull(message = "Operator type is required")
     @Enumerated(EnumType.STRING)
@@ -54,7 +61,25 @@ public class Bill extends BaseEntity {
     @Builder.Default
     private BillStatus status = BillStatus.INCOMPLETE;
     
+    /**
+     * Denormalized payment counters so the status can be derived without reading the person rows.
+     * Kept in step with the persons by {@link #recalculatePaymentCounters()}, {@link #changePaymentStatus}
+     * and {@link #removePerson}; the version check on the bill row serializes concurrent changes.
+     */
+    @Column(name = "person_count", nullable = false)
+    @Builder.Default
+    private int personCount = 0;
+    
+    @Column(name = "paid_count", nullable = false)
+    @Builder.Default
+    private int paidCount = 0;
+    
+    @Column(name = "paid_amount", nullable = false, precision = 10, scale = 2)
+    @Builder.Default
+    private Money paidAmount = Money.ZERO;
+    
     @OneToMany(mappedBy = "bill", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<Person> persons = new ArrayList<>();
     
     /**
@@ -69,7 +94,56 @@ public class Bill extends BaseEntity {
      * Remove a person from this bill
      */
     public void removePerson(Person person) {
-        persons.remove(person);
+        if (persons.remove(person)) {
+            personCount--;
+            if (person.getPaymentStatus() == PaymentStatus.PAID) {
+                paidCount--;
+                paidAmount = paidAmount.minus(person.getAmount());
+            }
+            refreshStatus();
+        }
         person.setBill(null);
     }
+    
+    /**
+     * Change the payment status of one of this bill's persons, adjusting the counters and status
+     */
+    public void changePaymentStatus(Person person, PaymentStatus newStatus) {
+        if (person.getPaymentStatus() == newStatus) {
+            return;
+        }
+        if (newStatus == PaymentStatus.PAID) {
+            paidCount++;
+            paidAmount = paidAmount.plus(person.getAmount());
+        } else {
+            paidCount--;
+            paidAmount = paidAmount.minus(person.getAmount());
+        }
+        person.setPaymentStatus(newStatus);
+        refreshStatus();
+    }
+    
+    /**
+     * Recalculate the payment counters from the in-memory persons, e.g. after building a new bill
+     */
+    public void recalculatePaymentCounters() {
+        personCount = persons.size();
+        paidCount = 0;
+        long paidMinorUnits = 0;
+        for (Person person : persons) {
+            if (person.getPaymentStatus() == PaymentStatus.PAID) {
+                paidCount++;
+                paidMinorUnits = Math.addExact(paidMinorUnits, person.getAmount().getMinorUnits());
+            }
+        }
+        paidAmount = Money.ofMinor(paidMinorUnits);
+        refreshStatus();
+    }
+    
+    /**
+     * Derive the status from the payment counters: complete once every person has paid
+     */
+    public void refreshStatus() {
+        status = personCount > 0 && paidCount == personCount ? BillStatus.COMPLETE : BillStatus.INCOMPLETE;
+    }
 }
@@ -0,0 +1,42 @@
+package com.sharemal.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Latest change of a bill in the change feed: one row per bill ever written, moved forward on every change
+ * and kept after deletion so change feed clients learn about it
+ */
+@Entity
+@Table(name = "bill_changes", indexes = {
+        @Index(name = "idx_bill_changes_change_seq", columnList = "change_seq", unique = true)
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BillChange {
+    
+    /**
+     * ID of the changed bill; bill IDs come from a sequence and are never reused
+     */
+    @Id
+    @Column(name = "bill_id")
+    private Long billId;
+    
+    /**
+     * Position of the change in commit order, see {@link BillChangeCounter}
+     */
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+    
+    @Column(name = "deleted", nullable = false)
+    private boolean deleted;
+}
@@ -0,0 +1,30 @@
+package com.sharemal.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Single row handing out change sequence numbers. A committing transaction increments it and keeps the
+ * row locked until its commit, so sequence numbers become visible in the order they were handed out.
+ */
+@Entity
+@Table(name = "bill_change_counter")
+@Data
+@NoArgsConstructor
+public class BillChangeCounter {
+    
+    public static final long ID = 1;
+    
+    @Id
+    private Long id;
+    
+    /**
+     * Last sequence number handed out
+     */
+    @Column(name = "last_seq", nullable = false)
+    private Long lastSeq;
+}
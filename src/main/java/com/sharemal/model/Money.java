@@ -0,0 +1,107 @@
+package com.sharemal.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Immutable amount of money held as a count of minor units (cents).
+ * Arithmetic is exact and fails with {@link ArithmeticException} on overflow instead of wrapping.
+ * Serialized to JSON as a decimal number with two fractional digits, like the {@code BigDecimal}
+ * amounts it replaces, and stored in DECIMAL(10,2) columns through {@link MoneyConverter}.
+ */
+public final class Money implements Comparable<Money>, Serializable {
+    
+    @Serial
+    private static final long serialVersionUID = 1L;
+    
+    /**
+     * Number of fractional digits of an amount
+     */
+    public static final int SCALE = 2;
+    
+    public static final Money ZERO = new Money(0);
+    
+    private final long minorUnits;
+    
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+    
+    /**
+     * Money for the given number of minor units
+     */
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+    
+    /**
+     * Money for the given decimal amount
+     *
+     * @throws ArithmeticException if the amount has more than two fractional digits or does not fit
+     */
+    @JsonCreator
+    public static Money of(BigDecimal amount) {
+        return ofMinor(toMinorUnits(amount));
+    }
+    
+    /**
+     * Minor units of the given decimal amount without creating a Money
+     *
+     * @throws ArithmeticException if the amount has more than two fractional digits or does not fit
+     */
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount.movePointRight(SCALE).longValueExact();
+    }
+    
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+    
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+    
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+    
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+    
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+    
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+    
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+    
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof Money money && minorUnits == money.minorUnits;
+    }
+    
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+    
+    /**
+     * Plain decimal form with two fractional digits, e.g. {@code 12.50}
+     */
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
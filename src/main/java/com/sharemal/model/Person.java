@@ -1,8 +1,8 @@
 package com.sharemal.model;
 
 import com.sharemal.enums.PaymentStatus;
+import com.sharemal.util.NameNormalizer;
 import jakarta.persistence.*;
-import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -11,14 +11,23 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
-
-import java.math.BigDecimal;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Person entity representing a participant in a bill
  */
 @Entity
-@Table(name = "persons")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "persons", indexes = {
+        // Loads the persons of a bill
+        @Index(name = "idx_persons_bill_id", columnList = "bill_id"),
+        // Covers the outstanding-balance aggregation: unpaid rows grouped by name key, summing amounts
+        @Index(name = "idx_persons_status_name_key", columnList = "payment_status, name_key, amount, bill_id"),
+        // Finds the bills of a participant for the participant filter of bill queries
+        @Index(name = "idx_persons_name_key_bill_id", columnList = "name_key, bill_id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -31,10 +40,15 @@ public class Person extends BaseEntity {
     @Column(name = "name", nullable = false)
     private String name;
     
+    /**
+     * Normalized name identifying the same participant across bills, see {@link NameNormalizer}
+     */
+    @Column(name = "name_key", nullable = false, length = 100)
+    private String nameKey;
+    
     @NotNull(message = "Amount is required")
-    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
     @Column(name = "amount", nullable = false, precision = 10, scale = 2)
-    private BigDecimal amount;
+    private Money amount;
     
     @Enumerated(EnumType.STRING)
     @Column(name = "payment_status", nullable = false)
@@ -42,7 +56,13 @@ public class Person extends BaseEntity {
     private PaymentStatus paymentStatus = PaymentStatus.UNPAID;
     
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "bill_id", nullable = false)
+    @JoinColumn(name = "bill_id", nullable = false, foreignKey = @ForeignKey(name = "fk_persons_bill"))
     @NotNull(message = "Bill is required for person")
     private Bill bill;
+    
+    @PrePersist
+    @PreUpdate
+    private void updateNameKey() {
+        nameKey = NameNormalizer.normalize(name);
+    }
 }
@@ -0,0 +1,38 @@
+package com.sharemal.repository;
+
+import com.sharemal.model.BillChange;
+import com.sharemal.model.BillChangeCounter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for BillChange entity operations and the change sequence counter
+ */
+@Repository
+public interface BillChangeRepository extends JpaRepository<BillChange, Long> {
+    
+    /**
+     * Find changes recorded after the given sequence number, in commit order
+     */
+    @Query("SELECT c FROM BillChange c WHERE c.changeSeq > :changeSeq ORDER BY c.changeSeq")
+    List<BillChange> findChangesAfter(@Param("changeSeq") long changeSeq, Pageable pageable);
+    
+    /**
+     * Reserve the given number of sequence numbers. The counter row stays locked until the transaction ends.
+     */
+    @Modifying
+    @Query("UPDATE BillChangeCounter c SET c.lastSeq = c.lastSeq + :count WHERE c.id = " + BillChangeCounter.ID)
+    int reserveSequence(@Param("count") long count);
+    
+    /**
+     * Last sequence number handed out, including those reserved by the current transaction
+     */
+    @Query("SELECT c.lastSeq FROM BillChangeCounter c WHERE c.id = " + BillChangeCounter.ID)
+    long findLastSequence();
+}
@@ -0,0 +1,18 @@
+package com.sharemal.repository;
+
+import com.sharemal.dto.BillDto;
+import com.sharemal.dto.BillQueryCriteria;
+
+import java.util.List;
+
+/**
+ * Repository fragment for bill queries combining optional filters
+ */
+public interface BillQueryRepository {
+    
+    /**
+     * Find up to {@code limit} bills matching every given filter as DTOs without persons, in the requested
+     * order, starting after the given keyset position; built as a single statement
+     */
+    List<BillDto> queryDtos(BillQueryCriteria criteria);
+}
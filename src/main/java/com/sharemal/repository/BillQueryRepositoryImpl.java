@@ -0,0 +1,111 @@
+package com.sharemal.repository;
+
+import com.sharemal.dto.BillDto;
+import com.sharemal.dto.BillQueryCriteria;
+import com.sharemal.enums.BillSortOrder;
+import com.sharemal.model.Bill;
+import com.sharemal.model.Money;
+import com.sharemal.model.Person;
+import com.sharemal.util.NameNormalizer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Criteria API implementation of {@link BillQueryRepository}.
+ * Only the given filters end up in the WHERE clause, so the database can pick the index matching them:
+ * (status, bill_date, id) or (bill_date, id) for date sorts, (total_amount, id) for amount sorts, and
+ * (name_key, bill_id) on persons for the participant filter. A title filter is a substring match and
+ * cannot use an index; combine it with a selective filter on large data sets.
+ */
+public class BillQueryRepositoryImpl implements BillQueryRepository {
+    
+    private static final char LIKE_ESCAPE = '\\';
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<BillDto> queryDtos(BillQueryCriteria criteria) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BillDto> query = cb.createQuery(BillDto.class);
+        Root<Bill> bill = query.from(Bill.class);
+        query.select(cb.construct(BillDto.class, bill.get("id"), bill.get("title"), bill.get("totalAmount"),
+                bill.get("operator"), bill.get("billDate"), bill.get("status"), bill.get("createdAt"),
+                bill.get("updatedAt"), bill.get("version")));
+        
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.getStatus() != null) {
+            predicates.add(cb.equal(bill.get("status"), criteria.getStatus()));
+        }
+        if (criteria.getFromDate() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(bill.get("billDate"), criteria.getFromDate()));
+        }
+        if (criteria.getToDate() != null) {
+            predicates.add(cb.lessThanOrEqualTo(bill.get("billDate"), criteria.getToDate()));
+        }
+        if (criteria.getMinAmount() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(bill.get("totalAmount"), Money.of(criteria.getMinAmount())));
+        }
+        if (criteria.getMaxAmount() != null) {
+            predicates.add(cb.lessThanOrEqualTo(bill.get("totalAmount"), Money.of(criteria.getMaxAmount())));
+        }
+        if (criteria.getTitle() != null) {
+            predicates.add(cb.like(cb.lower(bill.get("title")), containsPattern(criteria.getTitle()), LIKE_ESCAPE));
+        }
+        if (criteria.getParticipant() != null) {
+            Subquery<Long> participant = query.subquery(Long.class);
+            Root<Person> person = participant.from(Person.class);
+            participant.select(person.get("id"))
+                    .where(cb.equal(person.get("bill"), bill), cb.equal(person.get("nameKey"), NameNormalizer.normalize(criteria.getParticipant())));
+            predicates.add(cb.exists(participant));
+        }
+        
+        BillSortOrder sort = criteria.getSort();
+        Path<Long> id = bill.get("id");
+        if (criteria.getAfterId() != null) {
+            predicates.add(sort.isByBillDate()
+                    ? after(cb, bill.get("billDate"), (LocalDate) criteria.getAfterKey(), id, criteria.getAfterId(), sort.isDescending())
+                    : after(cb, bill.get("totalAmount"), (Money) criteria.getAfterKey(), id, criteria.getAfterId(), sort.isDescending()));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        
+        Path<?> key = sort.isByBillDate() ? bill.get("billDate") : bill.get("totalAmount");
+        query.orderBy(sort.isDescending()
+                ? List.of(cb.desc(key), cb.desc(id))
+                : List.of(cb.asc(key), cb.asc(id)));
+        
+        return entityManager.createQuery(query)
+                .setMaxResults(criteria.getLimit())
+                .getResultList();
+    }
+    
+    /**
+     * Seek predicate for rows after (key, id) in the sort order, so the database starts from the index position.
+     * The leading bound on the key is implied by the rest but gives the database an index range to seek.
+     */
+    private <T extends Comparable<? super T>> Predicate after(CriteriaBuilder cb, Path<T> key, T afterKey,
+                                                             Path<Long> id, Long afterId, boolean descending) {
+        return descending
+                ? cb.and(cb.lessThanOrEqualTo(key, afterKey), cb.or(cb.lessThan(key, afterKey), cb.lessThan(id, afterId)))
+                : cb.and(cb.greaterThanOrEqualTo(key, afterKey), cb.or(cb.greaterThan(key, afterKey), cb.greaterThan(id, afterId)));
+    }
+    
+    private String containsPattern(String text) {
+        String escaped = text.toLowerCase(Locale.ROOT)
+                .replace(String.valueOf(LIKE_ESCAPE), "" + LIKE_ESCAPE + LIKE_ESCAPE)
+                .replace("%", LIKE_ESCAPE + "%")
+                .replace("_", LIKE_ESCAPE + "_");
+        return "%" + escaped + "%";
+    }
+}
@@ -1,21 +1,47 @@
 package com.sharemal.repository;
 
+import com.sharemal.dto.BillCollectionStateDto;
+import com.sharemal.dto.BillDto;
+import com.sharemal.dto.BillSummaryDto;
+import com.sharemal.dto.BillTitleDto;
 import com.sharemal.enums.BillStatus;
 import com.sharemal.model.Bill;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Bill entity operations
  */
 @Repository
-public interface BillRepository extends JpaRepository<Bill, Long> {
+public interface BillRepository extends JpaRepository<Bill, Long>, BillQueryRepository {
+    
+    /**
+     * Select clause projecting bill rows straight into {@link BillDto} (without persons),
+     * skipping entity hydration and dirty-check snapshots on read-only paths
+     */
+    String BILL_DTO_SELECT = "SELECT new com.sharemal.dto.BillDto(b.id, b.title, b.totalAmount, b.operator, " +
+            "b.billDate, b.status, b.createdAt, b.updatedAt, b.version) FROM Bill b ";
+    
+    /**
+     * Select clause projecting bill rows into {@link BillSummaryDto}, taking the participant counts
+     * from the bill's payment counters so listings never touch the persons table
+     */
+    String BILL_SUMMARY_SELECT = "SELECT new com.sharemal.dto.BillSummaryDto(b.id, b.title, b.totalAmount, b.operator, " +
+            "b.billDate, b.status, b.personCount, b.paidCount, b.paidAmount, b.createdAt, b.updatedAt, b.version) FROM Bill b ";
     
     /**
      * Find bills by status
@@ -28,34 +54,135 @@ public interface BillRepository extends JpaRepository<Bill, Long> {
     List<Bill> findByTitleContainingIgnoreCase(String title);
     
     /**
-     * Find bills created between the given dates
+     * Find bill by ID with persons eagerly loaded
      */
-    List<Bill> findByBillDateBetween(LocalDate startDate, LocalDate endDate);
+    @Query("SELECT b FROM Bill b LEFT JOIN FETCH b.persons WHERE b.id = :id")
+    Optional<Bill> findByIdWithPersons(@Param("id") Long id);
     
     /**
-     * Find bills with total amount greater than the given amount
+     * Find all bills with persons eagerly loaded
      */
-    List<Bill> findByTotalAmountGreaterThan(java.math.BigDecimal amount);
+    @Query("SELECT b FROM Bill b LEFT JOIN FETCH b.persons")
+    List<Bill> findAllWithPersons();
     
     /**
-     * Find bills with total amount less than the given amount
+     * Count bills and find the latest modification time in one aggregate query
      */
-    List<Bill> findByTotalAmountLessThan(java.math.BigDecimal amount);
+    @Query("SELECT new com.sharemal.dto.BillCollectionStateDto(COUNT(b), MAX(b.updatedAt)) FROM Bill b")
+    BillCollectionStateDto findCollectionState();
     
     /**
-     * Find bill by ID with persons eagerly loaded
+     * Find all bills as DTOs without persons, ordered by ID
      */
-    @Query("SELECT b FROM Bill b LEFT JOIN FETCH b.persons WHERE b.id = :id")
-    Optional<Bill> findByIdWithPersons(@Param("id") Long id);
+    @Query(BILL_DTO_SELECT + "ORDER BY b.id")
+    List<BillDto> findAllDtos();
     
     /**
-     * Find all bills with persons eagerly loaded
+     * Find bills with the given status as DTOs without persons, ordered by ID
      */
-    @Query("SELECT b FROM Bill b LEFT JOIN FETCH b.persons")
-    List<Bill> findAllWithPersons();
+    @Query(BILL_DTO_SELECT + "WHERE b.status = :status ORDER BY b.id")
+    List<BillDto> findDtosByStatus(@Param("status") BillStatus status);
+    
+    /**
+     * Find bills with the given IDs as DTOs without persons
+     */
+    @Query(BILL_DTO_SELECT + "WHERE b.id IN :ids")
+    List<BillDto> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Find up to a page of bills whose title contains the given text (case-insensitive) as DTOs without persons
+     */
+    @Query(BILL_DTO_SELECT + "WHERE LOWER(b.title) LIKE LOWER(CONCAT('%', :title, '%')) ORDER BY b.id")
+    List<BillDto> findDtosByTitleContaining(@Param("title") String title, Pageable pageable);
+    
+    /**
+     * Find the first page of bills as DTOs without persons, ordered by bill date and ID, newest first
+     */
+    @Query(BILL_DTO_SELECT + "ORDER BY b.billDate DESC, b.id DESC")
+    List<BillDto> findFirstPage(Pageable pageable);
+    
+    /**
+     * Find the page of bills that follows the given (billDate, id) position as DTOs without persons, newest first.
+     * The seek predicate lets the database start from the (bill_date, id) index instead of skipping rows; its
+     * leading bill date bound is redundant but gives databases that cannot seek on the OR alone an index range.
+     */
+    @Query(BILL_DTO_SELECT + "WHERE b.billDate <= :billDate AND (b.billDate < :billDate OR b.id < :id) " +
+            "ORDER BY b.billDate DESC, b.id DESC")
+    List<BillDto> findPageAfter(@Param("billDate") LocalDate billDate, @Param("id") Long id, Pageable pageable);
+    
+    /**
+     * Find all bills as summaries, ordered by ID
+     */
+    @Query(BILL_SUMMARY_SELECT + "ORDER BY b.id")
+    List<BillSummaryDto> findAllSummaries();
+    
+    /**
+     * Find the first page of bills as summaries, ordered by bill date and ID, newest first
+     */
+    @Query(BILL_SUMMARY_SELECT + "ORDER BY b.billDate DESC, b.id DESC")
+    List<BillSummaryDto> findFirstSummaryPage(Pageable pageable);
+    
+    /**
+     * Find the page of bills that follows the given (billDate, id) position as summaries, newest first
+     */
+    @Query(BILL_SUMMARY_SELECT + "WHERE b.billDate <= :billDate AND (b.billDate < :billDate OR b.id < :id) " +
+            "ORDER BY b.billDate DESC, b.id DESC")
+    List<BillSummaryDto> findSummaryPageAfter(@Param("billDate") LocalDate billDate, @Param("id") Long id, Pageable pageable);
+    
+    /**
+     * Stream all bills as DTOs without persons ordered by ID, fetching rows from the driver in blocks.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(BILL_DTO_SELECT + "ORDER BY b.id")
+    Stream<BillDto> streamAllDtos();
+    
+    /**
+     * Stream the ID and title of every bill
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.sharemal.dto.BillTitleDto(b.id, b.title) FROM Bill b")
+    Stream<BillTitleDto> streamAllTitles();
     
     /**
      * Count bills by status
      */
     long countByStatus(BillStatus status);
+    
+    /**
+     * Find the IDs of bills whose counters disagree with their persons, or whose status disagrees with
+     * their counters; {@link #recomputePaymentCounters} repairs them
+     */
+    @Query("SELECT b.id FROM Bill b " +
+            "WHERE b.personCount <> (SELECT COUNT(p) FROM Person p WHERE p.bill = b) " +
+            "OR b.paidCount <> (SELECT COUNT(p) FROM Person p WHERE p.bill = b " +
+            "AND p.paymentStatus = com.sharemal.enums.PaymentStatus.PAID) " +
+            "OR b.paidAmount <> (SELECT COALESCE(SUM(p.amount), 0) FROM Person p WHERE p.bill = b " +
+            "AND p.paymentStatus = com.sharemal.enums.PaymentStatus.PAID) " +
+            "OR b.status <> CASE WHEN b.personCount > 0 AND b.paidCount = b.personCount " +
+            "THEN com.sharemal.enums.BillStatus.COMPLETE ELSE com.sharemal.enums.BillStatus.INCOMPLETE END " +
+            "ORDER BY b.id")
+    List<Long> findIdsWithDriftedCounters();
+    
+    /**
+     * Recompute the payment counters and status of the bills with the given IDs from their persons in one
+     * aggregate statement, e.g. after their persons were updated in bulk. The bills get a new version and
+     * modification time (from the application clock), so in-flight changes made from the old state fail their
+     * version check.
+     *
+     * @return number of updated bills
+     */
+    @Modifying
+    @Query("UPDATE VERSIONED Bill b SET b.updatedAt = :now, " +
+            "b.personCount = (SELECT COUNT(p) FROM Person p WHERE p.bill = b), " +
+            "b.paidCount = (SELECT COUNT(p) FROM Person p WHERE p.bill = b " +
+            "AND p.paymentStatus = com.sharemal.enums.PaymentStatus.PAID), " +
+            "b.paidAmount = (SELECT COALESCE(SUM(p.amount), 0) FROM Person p WHERE p.bill = b " +
+            "AND p.paymentStatus = com.sharemal.enums.PaymentStatus.PAID), " +
+            "b.status = CASE WHEN (SELECT COUNT(p) FROM Person p WHERE p.bill = b " +
+            "AND p.paymentStatus = com.sharemal.enums.PaymentStatus.UNPAID) = 0 " +
+            "AND EXISTS (SELECT p FROM Person p WHERE p.bill = b) " +
+            "THEN com.sharemal.enums.BillStatus.COMPLETE ELSE com.sharemal.enums.BillStatus.INCOMPLETE END " +
+            "WHERE b.id IN :ids")
+    int recomputePaymentCounters(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
 }
@@ -1,12 +1,22 @@
 package com.sharemal.repository;
 
+import com.sharemal.dto.BalanceDto;
+import com.sharemal.dto.NameSuggestionDto;
+import com.sharemal.dto.PaymentShareDto;
+import com.sharemal.dto.PersonDto;
+import com.sharemal.enums.BillStatus;
 import com.sharemal.enums.PaymentStatus;
+import com.sharemal.model.Money;
 import com.sharemal.model.Person;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -20,6 +30,13 @@ public interface PersonRepository extends JpaRepository<Person, Long> {
      */
     List<Person> findByBillId(Long billId);
     
+    /**
+     * Find persons belonging to any of the given bills in a single query as DTOs, ordered by ID
+     */
+    @Query("SELECT new com.sharemal.dto.PersonDto(p.id, p.name, p.amount, p.paymentStatus, p.bill.id) " +
+            "FROM Person p WHERE p.bill.id IN :billIds ORDER BY p.id")
+    List<PersonDto> findDtosByBillIdIn(@Param("billIds") Collection<Long> billIds);
+    
     /**
      * Find persons by payment status
      */
@@ -30,6 +47,61 @@ public interface PersonRepository extends JpaRepository<Person, Long> {
      */
     List<Person> findByNameContainingIgnoreCase(String name);
     
+    /**
+     * Count persons per name key, returning one spelling of each name
+     */
+    @Query("SELECT new com.sharemal.dto.NameSuggestionDto(MIN(p.name), COUNT(p)) FROM Person p " +
+            "GROUP BY p.nameKey")
+    List<NameSuggestionDto> findNameCounts();
+    
+    /**
+     * Sum the amounts of persons with the given payment status per name key, returning one spelling of each name
+     */
+    @Query("SELECT new com.sharemal.dto.BalanceDto(MIN(p.name), SUM(p.amount), COUNT(p)) FROM Person p " +
+            "WHERE p.paymentStatus = :paymentStatus GROUP BY p.nameKey")
+    List<BalanceDto> findBalances(@Param("paymentStatus") PaymentStatus paymentStatus);
+    
+    /**
+     * Sum the amounts of persons with the given payment status per name key, restricted to bills dated
+     * within the optional bounds and, if given, having the given status
+     */
+    @Query("SELECT new com.sharemal.dto.BalanceDto(MIN(p.name), SUM(p.amount), COUNT(p)) FROM Person p JOIN p.bill b " +
+            "WHERE p.paymentStatus = :paymentStatus " +
+            "AND (:from IS NULL OR b.billDate >= :from) AND (:to IS NULL OR b.billDate <= :to) " +
+            "AND (:billStatus IS NULL OR b.status = :billStatus) " +
+            "GROUP BY p.nameKey")
+    List<BalanceDto> findBalances(@Param("paymentStatus") PaymentStatus paymentStatus,
+                                  @Param("from") LocalDate from,
+                                  @Param("to") LocalDate to,
+                                  @Param("billStatus") BillStatus billStatus);
+    
+    /**
+     * Find the unpaid shares among the persons with the given IDs
+     */
+    @Query("SELECT new com.sharemal.dto.PaymentShareDto(p.id, p.bill.id) FROM Person p " +
+            "WHERE p.id IN :ids AND p.paymentStatus = com.sharemal.enums.PaymentStatus.UNPAID")
+    List<PaymentShareDto> findUnpaidSharesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Find the unpaid shares of the participant with the given name key across all bills
+     */
+    @Query("SELECT new com.sharemal.dto.PaymentShareDto(p.id, p.bill.id) FROM Person p " +
+            "WHERE p.nameKey = :nameKey AND p.paymentStatus = com.sharemal.enums.PaymentStatus.UNPAID")
+    List<PaymentShareDto> findUnpaidSharesByNameKey(@Param("nameKey") String nameKey);
+    
+    /**
+     * Mark the persons with the given IDs as paid in one statement, skipping those already paid.
+     * The bills' payment counters must be recomputed afterwards, see {@link BillRepository#recomputePaymentCounters}.
+     * The modification time is passed in from the application clock, like the one set by auditing.
+     *
+     * @return number of persons marked as paid
+     */
+    @Modifying
+    @Query("UPDATE VERSIONED Person p SET p.paymentStatus = com.sharemal.enums.PaymentStatus.PAID, " +
+            "p.updatedAt = :now " +
+            "WHERE p.id IN :ids AND p.paymentStatus = com.sharemal.enums.PaymentStatus.UNPAID")
+    int markPaidByIdIn(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+    
     /**
      * Find persons by bill ID and payment status
      */
@@ -48,10 +120,10 @@ public interface PersonRepository extends JpaRepository<Person, Long> {
     /**
      * Find persons with amount greater than the given amount
      */
-    List<Person> findByAmountGreaterThan(java.math.BigDecimal amount);
+    List<Person> findByAmountGreaterThan(Money amount);
     
     /**
      * Find persons with amount less than the given amount
      */
-    List<Person> findByAmountLessThan(java.math.BigDecimal amount);
+    List<Person> findByAmountLessThan(Money amount);
 }
@@ -0,0 +1,214 @@
+package com.sharemal.service;
+
+import com.sharemal.dto.BalanceDto;
+import com.sharemal.enums.BillStatus;
+import com.sharemal.enums.PaymentStatus;
+import com.sharemal.event.BillChangedEvent;
+import com.sharemal.event.PaymentStatusChangedEvent;
+import com.sharemal.event.PaymentsBulkPaidEvent;
+import com.sharemal.exception.ValidationException;
+import com.sharemal.model.Money;
+import com.sharemal.repository.PersonRepository;
+import com.sharemal.util.NameNormalizer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outstanding amounts per participant across bills, aggregated in the database with GROUP BY on the
+ * persons' name key. Results are cached per filter; committed payment toggles adjust the cached
+ * unfiltered-by-status balances by the person's amount, other bill changes drop the affected results.
+ */
+@Slf4j
+@Service
+public class BalanceService {
+    
+    private static final Comparator<BalanceDto> BY_AMOUNT_THEN_NAME = Comparator
+            .comparing(BalanceDto::getOutstandingAmount).reversed()
+            .thenComparing(BalanceDto::getName);
+    
+    private final PersonRepository personRepository;
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Map<BalanceFilter, CachedBalances> entries = new ConcurrentHashMap<>();
+    
+    /**
+     * Incremented for every committed change, so a result loaded while a change committed is not cached
+     */
+    private final AtomicLong changes = new AtomicLong();
+    
+    public BalanceService(PersonRepository personRepository,
+                          @Value("${sharemal.balances.cache.max-entries:100}") int maxEntries,
+                          @Value("${sharemal.balances.cache.ttl:10m}") Duration ttl) {
+        this.personRepository = personRepository;
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+    }
+    
+    /**
+     * Outstanding amount per participant, largest first, over bills dated within the optional bounds
+     * and, if given, having the given status.
+     * Runs in a read-write transaction, which is never routed to a replica: a lagging replica could otherwise
+     * refill the cache with balances from before a change whose commit has just cleared it.
+     */
+    @Transactional
+    public List<BalanceDto> getOutstandingBalances(LocalDate from, LocalDate to, BillStatus status) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new ValidationException("Balance date range is empty: " + from + " is after " + to);
+        }
+        BalanceFilter filter = new BalanceFilter(from, to, status);
+        CachedBalances cached = entries.get(filter);
+        if (cached != null && System.nanoTime() - cached.loadedAt < ttl.toNanos()) {
+            return cached.sorted();
+        }
+        
+        log.debug("Aggregating outstanding balances for {}", filter);
+        long changesBefore = changes.get();
+        List<BalanceDto> balances = filter.isUnfiltered()
+                ? personRepository.findBalances(PaymentStatus.UNPAID)
+                : personRepository.findBalances(PaymentStatus.UNPAID, from, to, status);
+        CachedBalances loaded = new CachedBalances(balances);
+        synchronized (entries) {
+            if (changes.get() == changesBefore) {
+                if (entries.size() >= maxEntries && !entries.containsKey(filter)) {
+                    entries.remove(entries.keySet().iterator().next());
+                }
+                entries.put(filter, loaded);
+            }
+        }
+        return loaded.sorted();
+    }
+    
+    /**
+     * Move the person's amount into or out of the cached balances covering the bill's date
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPaymentStatusChanged(PaymentStatusChangedEvent event) {
+        synchronized (entries) {
+            changes.incrementAndGet();
+            // A toggle may also change the bill status, so status-filtered results are reloaded
+            entries.entrySet().removeIf(entry -> entry.getKey().covers(event.getBillDate())
+                    && entry.getKey().status() != null);
+            int sign = event.getPaymentStatus() == PaymentStatus.UNPAID ? 1 : -1;
+            entries.forEach((filter, cached) -> {
+                if (filter.covers(event.getBillDate())) {
+                    cached.adjust(event.getName(), event.getAmount().getMinorUnits(), sign);
+                }
+            });
+        }
+    }
+    
+    /**
+     * Drop cached balances that a bill change other than a payment toggle may have affected
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBillChanged(BillChangedEvent event) {
+        if (event.getType() == BillChangedEvent.ChangeType.PAYMENT_TOGGLED) {
+            return;
+        }
+        synchronized (entries) {
+            changes.incrementAndGet();
+            if (event.getType() == BillChangedEvent.ChangeType.STATUS_CHANGED) {
+                entries.keySet().removeIf(filter -> filter.status() != null);
+            } else {
+                entries.clear();
+            }
+        }
+    }
+    
+    /**
+     * Drop every cached result: bulk payments do not say which participants paid how much
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPaymentsBulkPaid(PaymentsBulkPaidEvent event) {
+        synchronized (entries) {
+            changes.incrementAndGet();
+            entries.clear();
+        }
+    }
+    
+    private record BalanceFilter(LocalDate from, LocalDate to, BillStatus status) {
+        
+        private boolean isUnfiltered() {
+            return from == null && to == null && status == null;
+        }
+        
+        private boolean covers(LocalDate billDate) {
+            return (from == null || !billDate.isBefore(from)) && (to == null || !billDate.isAfter(to));
+        }
+    }
+    
+    /**
+     * Balances of one filter keyed by name key, adjusted in place as minor units, with a sorted copy
+     * rebuilt lazily after adjustments
+     */
+    private static final class CachedBalances {
+        
+        private final long loadedAt = System.nanoTime();
+        private final Map<String, Balance> balances = new HashMap<>();
+        private List<BalanceDto> sorted;
+        
+        private CachedBalances(List<BalanceDto> loaded) {
+            for (BalanceDto balance : loaded) {
+                balances.put(NameNormalizer.normalize(balance.getName()), new Balance(balance.getName(),
+                        balance.getOutstandingAmount().getMinorUnits(), balance.getUnpaidCount()));
+            }
+        }
+        
+        private synchronized List<BalanceDto> sorted() {
+            if (sorted == null) {
+                List<BalanceDto> copy = new ArrayList<>(balances.size());
+                for (Balance balance : balances.values()) {
+                    copy.add(new BalanceDto(balance.name, Money.ofMinor(balance.outstanding), balance.unpaidCount));
+                }
+                copy.sort(BY_AMOUNT_THEN_NAME);
+                sorted = List.copyOf(copy);
+            }
+            return sorted;
+        }
+        
+        private synchronized void adjust(String name, long amount, int sign) {
+            String key = NameNormalizer.normalize(name);
+            Balance balance = balances.get(key);
+            if (balance == null) {
+                if (sign < 0) {
+                    return;
+                }
+                balance = new Balance(name.trim(), 0, 0);
+                balances.put(key, balance);
+            }
+            balance.outstanding += sign * amount;
+            balance.unpaidCount += sign;
+            if (balance.unpaidCount <= 0) {
+                balances.remove(key);
+            }
+            sorted = null;
+        }
+    }
+    
+    private static final class Balance {
+        
+        private final String name;
+        private long outstanding;
+        private long unpaidCount;
+        
+        private Balance(String name, long outstanding, long unpaidCount) {
+            this.name = name;
+            this.outstanding = outstanding;
+            this.unpaidCount = unpaidCount;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.sharemal.service;
+
+import com.sharemal.dto.BillBatchResultDto;
+import com.sharemal.dto.BillCreateRequest;
+import com.sharemal.event.BillChangedEvent;
+import com.sharemal.event.PersonNamesChangedEvent;
+import com.sharemal.exception.BaseException;
+import com.sharemal.model.Bill;
+import com.sharemal.repository.BillRepository;
+import com.sharemal.util.BillRequestValidator;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for creating bills in bulk.
+ * Requests are validated in one pass up front, then the valid ones are persisted in chunks,
+ * each chunk in its own transaction so its INSERTs go out as JDBC batches.
+ */
+@Slf4j
+@Service
+public class BillBatchService {
+    
+    private final BillService billService;
+    private final BillRepository billRepository;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    
+    public BillBatchService(BillService billService,
+                            BillRepository billRepository,
+                            EntityManager entityManager,
+                            Validator validator,
+                            ApplicationEventPublisher eventPublisher,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${sharemal.bills.batch.chunk-size:500}") int chunkSize) {
+        this.billService = billService;
+        this.billRepository = billRepository;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+    
+    /**
+     * Create all valid bills of the batch and report the outcome of each one
+     */
+    public BillBatchResultDto createBills(List<BillCreateRequest> requests) {
+        log.debug("Creating batch of {} bills", requests.size());
+        
+        BillBatchResultDto.ItemResult[] results = new BillBatchResultDto.ItemResult[requests.size()];
+        
+        // Validate every request first so invalid ones never reach a transaction
+        List<Integer> validIndexes = new ArrayList<>();
+        List<BillCreateRequest> validRequests = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String error = validate(requests.get(i));
+            if (error != null) {
+                results[i] = failed(i, error);
+            } else {
+                validIndexes.add(i);
+                validRequests.add(requests.get(i));
+            }
+        }
+        
+        List<BillBatchResultDto.ItemResult> persisted = persist(validRequests);
+        for (int i = 0; i < persisted.size(); i++) {
+            BillBatchResultDto.ItemResult result = persisted.get(i);
+            result.setIndex(validIndexes.get(i));
+            results[validIndexes.get(i)] = result;
+        }
+        
+        int created = 0;
+        for (BillBatchResultDto.ItemResult result : results) {
+            if (result.getStatus() == BillBatchResultDto.ItemStatus.CREATED) {
+                created++;
+            }
+        }
+        log.info("Batch bill creation finished: {} created, {} failed", created, requests.size() - created);
+        
+        return BillBatchResultDto.builder()
+                .total(requests.size())
+                .created(created)
+                .failed(requests.size() - created)
+                .results(List.of(results))
+                .build();
+    }
+    
+    /**
+     * Validate a single request with the bean validation constraints and the bill business rules.
+     * Returns the error message, or null when the request is valid.
+     */
+    public String validate(BillCreateRequest request) {
+        if (request == null) {
+            return "Bill is required";
+        }
+        
+        Set<ConstraintViolation<BillCreateRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        
+        try {
+            BillRequestValidator.validateCreateRequest(request);
+            return null;
+        } catch (BaseException ex) {
+            return ex.getMessage();
+        }
+    }
+    
+    /**
+     * Persist already validated requests in chunked transactions.
+     * Returns one result per request, in order, with the index relative to the given list.
+     */
+    public List<BillBatchResultDto.ItemResult> persist(List<BillCreateRequest> requests) {
+        BillBatchResultDto.ItemResult[] results = new BillBatchResultDto.ItemResult[requests.size()];
+        List<Integer> indexes = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            indexes.add(i);
+        }
+        for (int from = 0; from < indexes.size(); from += chunkSize) {
+            persistChunk(requests, indexes.subList(from, Math.min(from + chunkSize, indexes.size())), results);
+        }
+        return List.of(results);
+    }
+    
+    /**
+     * Persist the given requests in one transaction. If the chunk fails as a whole,
+     * fall back to one transaction per bill so that only the offending bills are reported as failed.
+     */
+    private void persistChunk(List<BillCreateRequest> requests, List<Integer> indexes,
+                              BillBatchResultDto.ItemResult[] results) {
+        try {
+            List<Bill> bills = transactionTemplate.execute(status -> saveAll(requests, indexes));
+            for (int i = 0; i < indexes.size(); i++) {
+                results[indexes.get(i)] = created(indexes.get(i), bills.get(i).getId());
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Batch chunk of {} bills failed, retrying bills one by one: {}", indexes.size(), ex.getMessage());
+            for (Integer index : indexes) {
+                try {
+                    List<Bill> bills = transactionTemplate.execute(status -> saveAll(requests, List.of(index)));
+                    results[index] = created(index, bills.get(0).getId());
+                } catch (RuntimeException itemEx) {
+                    results[index] = failed(index, "Failed to create bill: " + itemEx.getMessage());
+                }
+            }
+        }
+    }
+    
+    /**
+     * Build and save the bills at the given indexes, then detach them so the persistence context stays small
+     */
+    private List<Bill> saveAll(List<BillCreateRequest> requests, List<Integer> indexes) {
+        try {
+            List<Bill> bills = new ArrayList<>(indexes.size());
+            for (Integer index : indexes) {
+                bills.add(billService.buildValidatedBill(requests.get(index)));
+            }
+            billRepository.saveAll(bills);
+            billRepository.flush();
+            List<String> personNames = new ArrayList<>();
+            for (Bill bill : bills) {
+                eventPublisher.publishEvent(BillChangedEvent.of(BillChangedEvent.ChangeType.CREATED, bill));
+                personNames.addAll(billService.personNames(bill));
+            }
+            eventPublisher.publishEvent(PersonNamesChangedEvent.added(personNames));
+            return bills;
+        } finally {
+            entityManager.clear();
+        }
+    }
+    
+    private BillBatchResultDto.ItemResult created(int index, Long billId) {
+        return BillBatchResultDto.ItemResult.builder()
+                .index(index)
+                .status(BillBatchResultDto.ItemStatus.CREATED)
+                .billId(billId)
+                .build();
+    }
+    
+    private BillBatchResultDto.ItemResult failed(int index, String error) {
+        return BillBatchResultDto.ItemResult.builder()
+                .index(index)
+                .status(BillBatchResultDto.ItemStatus.FAILED)
+                .error(error)
+                .build();
+    }
+}
@@ -0,0 +1,98 @@
+package com.sharemal.service;
+
+import com.sharemal.event.BillChangedEvent;
+import com.sharemal.model.BillChange;
+import com.sharemal.repository.BillChangeRepository;
+import com.sharemal.util.Lists;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Records the bills changed by a transaction in the change log when it commits.
+ * Sequence numbers are reserved right before the commit while holding the counter row lock until the
+ * commit completes, so they become visible in commit order: a reader that sees a change has also seen
+ * every change with a lower number, however long the transactions ran.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BillChangeLog {
+    
+    private final BillChangeRepository billChangeRepository;
+    private final EntityManager entityManager;
+    
+    /**
+     * Collect the changed bill for the current transaction
+     */
+    @EventListener
+    public void onBillChanged(BillChangedEvent event) {
+        pendingChanges().merge(event.getBillId(),
+                event.getType() == BillChangedEvent.ChangeType.DELETED, Boolean::logicalOr);
+    }
+    
+    /**
+     * Bills changed by the current transaction, with whether they were deleted
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Long, Boolean> pendingChanges() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Bill changes must be published inside a transaction");
+        }
+        Map<Long, Boolean> pending = (Map<Long, Boolean>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Map<Long, Boolean> changes = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    record(changes);
+                }
+                
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(BillChangeLog.this);
+                }
+            });
+            pending = changes;
+        }
+        return pending;
+    }
+    
+    private void record(Map<Long, Boolean> changes) {
+        // Write the transaction's own changes first, so the counter lock is only held for the log rows and the commit
+        entityManager.flush();
+        billChangeRepository.reserveSequence(changes.size());
+        long seq = billChangeRepository.findLastSequence() - changes.size();
+        
+        List<Long> billIds = new ArrayList<>(changes.keySet());
+        Map<Long, BillChange> existing = new LinkedHashMap<>();
+        for (List<Long> ids : Lists.partition(billIds, Lists.MAX_IN_LIST_SIZE)) {
+            existing.putAll(billChangeRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(BillChange::getBillId, Function.identity())));
+        }
+        for (Long billId : billIds) {
+            boolean deleted = changes.get(billId);
+            BillChange change = existing.get(billId);
+            if (change == null) {
+                entityManager.persist(new BillChange(billId, ++seq, deleted));
+            } else {
+                change.setChangeSeq(++seq);
+                change.setDeleted(deleted);
+            }
+        }
+        entityManager.flush();
+        log.debug("Recorded {} bill changes up to sequence {}", billIds.size(), seq);
+    }
+}
@@ -0,0 +1,103 @@
+package com.sharemal.service;
+
+import com.sharemal.dto.BillChangesDto;
+import com.sharemal.dto.BillDto;
+import com.sharemal.exception.ValidationException;
+import com.sharemal.model.BillChange;
+import com.sharemal.repository.BillChangeRepository;
+import com.sharemal.repository.BillRepository;
+import com.sharemal.util.CursorCodec;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for the bill change feed.
+ * Changes are read from the change log by keyset on the change sequence number. The numbers are handed out
+ * in commit order (see {@link BillChangeLog}), so once a poll has seen a number no change with a lower one
+ * can still appear, and the token can move past it without losing anything.
+ * That only holds on the primary: a lagging replica can miss a number a later poll of the primary has already
+ * moved past, so the feed runs in a read-write transaction, which is never routed to a replica.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class BillChangesService {
+    
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+    
+    private final BillChangeRepository billChangeRepository;
+    private final BillRepository billRepository;
+    private final BillService billService;
+    
+    /**
+     * Get bills created, updated or deleted after the given token (from the beginning when null)
+     */
+    public BillChangesDto getChanges(String since, int limit) {
+        log.debug("Fetching bill changes since token: {} with limit: {}", since, limit);
+        
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ValidationException("Change limit must be between 1 and " + MAX_LIMIT);
+        }
+        
+        long changesAfter = 0;
+        if (since != null && !since.isBlank()) {
+            changesAfter = parseSequence(CursorCodec.decode(since, 1)[0]);
+        }
+        
+        // Fetch one extra row to find out whether more changes are waiting
+        List<BillChange> changes = billChangeRepository.findChangesAfter(changesAfter, PageRequest.of(0, limit + 1));
+        boolean hasMore = changes.size() > limit;
+        if (hasMore) {
+            changes = changes.subList(0, limit);
+        }
+        
+        List<Long> changedIds = new ArrayList<>();
+        List<Long> deletedIds = new ArrayList<>();
+        for (BillChange change : changes) {
+            (change.isDeleted() ? deletedIds : changedIds).add(change.getBillId());
+            changesAfter = change.getChangeSeq();
+        }
+        
+        List<BillDto> bills = new ArrayList<>(changedIds.size());
+        if (!changedIds.isEmpty()) {
+            Map<Long, BillDto> byId = billRepository.findDtosByIdIn(changedIds).stream()
+                    .collect(Collectors.toMap(BillDto::getId, Function.identity()));
+            for (Long id : changedIds) {
+                // A bill deleted after this read shows up as deleted on a later poll
+                BillDto bill = byId.get(id);
+                if (bill != null) {
+                    bills.add(bill);
+                }
+            }
+        }
+        
+        return BillChangesDto.builder()
+                .bills(billService.attachPersons(bills))
+                .deletedBillIds(deletedIds)
+                .nextToken(CursorCodec.encode(changesAfter))
+                .hasMore(hasMore)
+                .build();
+    }
+    
+    /**
+     * Parse the sequence number of a change token
+     */
+    private long parseSequence(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            throw new ValidationException("Invalid change token: " + value, ex);
+        }
+    }
+}
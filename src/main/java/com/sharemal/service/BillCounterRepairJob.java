@@ -0,0 +1,60 @@
+package com.sharemal.service;
+
+import com.sharemal.dto.BillDto;
+import com.sharemal.event.BillChangedEvent;
+import com.sharemal.repository.BillRepository;
+import com.sharemal.util.Lists;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Periodically recomputes the denormalized payment counters on bills from their persons,
+ * repairing any drift left by writes that bypassed the entity model (manual SQL, restores), including
+ * a status that disagrees with correct counters.
+ * Also runs once at startup so rows written before the counters existed get filled in.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BillCounterRepairJob {
+    
+    private final BillRepository billRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    /**
+     * Recompute counters for all bills whose counters disagree with their persons.
+     * Repaired bills are published as updated, so the change feed and other listeners pick up the new state.
+     *
+     * @return number of repaired bills
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${sharemal.bills.counters.repair-cron}")
+    @Transactional
+    public int repairCounters() {
+        long start = System.currentTimeMillis();
+        List<Long> billIds = billRepository.findIdsWithDriftedCounters();
+        LocalDateTime now = LocalDateTime.now();
+        for (List<Long> ids : Lists.partition(billIds, Lists.MAX_IN_LIST_SIZE)) {
+            billRepository.recomputePaymentCounters(ids, now);
+            for (BillDto bill : billRepository.findDtosByIdIn(ids)) {
+                eventPublisher.publishEvent(BillChangedEvent.of(BillChangedEvent.ChangeType.UPDATED, bill));
+            }
+        }
+        int repaired = billIds.size();
+        if (repaired > 0) {
+            log.warn("Repaired payment counters of {} bills in {} ms", repaired, System.currentTimeMillis() - start);
+        } else {
+            log.info("Bill payment counters verified in {} ms", System.currentTimeMillis() - start);
+        }
+        return repaired;
+    }
+}
@@ -0,0 +1,337 @@
+package com.sharemal.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sharemal.dto.BillEventDto;
+import com.sharemal.enums.BillStatus;
+import com.sharemal.enums.SlowSubscriberPolicy;
+import com.sharemal.event.BillChangedEvent;
+import com.sharemal.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes committed bill changes to Server-Sent Events subscribers.
+ * Publishing never blocks the writer: each event is serialized once and offered to every matching
+ * subscriber's bounded buffer, and a small sender pool drains the buffers onto the connections.
+ * A subscriber that falls behind loses its oldest events or is disconnected, depending on the policy.
+ * A write that does not finish within the send timeout disconnects its subscriber, and the sender pool gets an
+ * extra thread until the stuck write returns, so stalled connections cannot hold up the other subscribers.
+ * Idle subscribers hold no thread, only their emitter and an empty buffer.
+ */
+@Slf4j
+@Service
+public class BillEventBroadcaster {
+    
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+    private final long sendTimeoutNanos;
+    private final SlowSubscriberPolicy slowSubscriberPolicy;
+    private final ThreadPoolExecutor sender;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong eventIds = new AtomicLong();
+    private final Counter droppedEvents;
+    private final Counter slowDisconnects;
+    private final Counter stalledDisconnects;
+    
+    public BillEventBroadcaster(ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${sharemal.bills.stream.buffer-size:64}") int bufferSize,
+                                @Value("${sharemal.bills.stream.max-subscribers:50000}") int maxSubscribers,
+                                @Value("${sharemal.bills.stream.timeout-ms:1800000}") long timeoutMillis,
+                                @Value("${sharemal.bills.stream.sender-threads:4}") int senderThreads,
+                                @Value("${sharemal.bills.stream.send-timeout-ms:10000}") long sendTimeoutMillis,
+                                @Value("${sharemal.bills.stream.slow-subscriber-policy:DROP_OLDEST}") SlowSubscriberPolicy slowSubscriberPolicy) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeoutMillis;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        this.slowSubscriberPolicy = slowSubscriberPolicy;
+        AtomicInteger threadIds = new AtomicInteger();
+        this.sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "bill-stream-" + threadIds.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        Gauge.builder("bills.stream.subscribers", subscribers, Set::size)
+                .description("Open bill event streams")
+                .register(meterRegistry);
+        this.droppedEvents = Counter.builder("bills.stream.events.dropped")
+                .description("Bill events dropped because a subscriber's buffer was full")
+                .register(meterRegistry);
+        this.slowDisconnects = Counter.builder("bills.stream.disconnects.slow")
+                .description("Subscribers disconnected because their buffer was full")
+                .register(meterRegistry);
+        this.stalledDisconnects = Counter.builder("bills.stream.disconnects.stalled")
+                .description("Subscribers disconnected because a write to them exceeded the send timeout")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Open a stream of bill events, optionally limited to one bill and/or one status
+     *
+     * @throws ServiceBusyException if the node already serves the maximum number of streams
+     */
+    public SseEmitter subscribe(Long billId, BillStatus status) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ServiceBusyException("Too many open bill streams, please retry later");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, billId, status, new LinkedBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(error -> close(subscriber));
+        subscribers.add(subscriber);
+        // Flush the response headers right away so clients see the stream as open
+        enqueue(subscriber, SseEmitter.event().comment("connected").build());
+        log.debug("Bill stream opened (billId={}, status={}), {} open", billId, status, subscribers.size());
+        return emitter;
+    }
+    
+    /**
+     * Fan a committed bill change out to the matching subscribers
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBillChanged(BillChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> payload = SseEmitter.event()
+                .id(String.valueOf(eventIds.incrementAndGet()))
+                .name(event.getType().name())
+                .data(serialize(event))
+                .build();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.matches(event)) {
+                enqueue(subscriber, payload);
+            }
+        }
+    }
+    
+    /**
+     * Keep idle streams alive through proxies and detect connections that went away
+     */
+    @Scheduled(fixedRateString = "${sharemal.bills.stream.heartbeat-interval-ms:30000}")
+    public void sendHeartbeats() {
+        Set<ResponseBodyEmitter.DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+        for (Subscriber subscriber : subscribers) {
+            // A subscriber with buffered events gets traffic anyway
+            if (subscriber.queue.isEmpty() && subscriber.queue.offer(heartbeat)) {
+                scheduleDrain(subscriber);
+            }
+        }
+    }
+    
+    /**
+     * Disconnect subscribers whose current write has exceeded the send timeout. The write itself holds the
+     * emitter until it returns, so the stream is completed by its sender thread; meanwhile the pool runs one
+     * thread more so the remaining subscribers keep their full share of senders.
+     * Checked once per timeout, so a stalled write is detected within twice the timeout.
+     */
+    @Scheduled(fixedDelayString = "${sharemal.bills.stream.send-timeout-ms:10000}")
+    public void abortStalledSends() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.abortSendIfStalled(now, sendTimeoutNanos)) {
+                subscribers.remove(subscriber);
+                subscriber.queue.clear();
+                stalledDisconnects.increment();
+                resizeSender(1);
+                log.debug("Bill stream write stalled for over {} ms, disconnecting", TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos));
+            }
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(this::close);
+        sender.shutdownNow();
+    }
+    
+    private void enqueue(Subscriber subscriber, Set<ResponseBodyEmitter.DataWithMediaType> payload) {
+        if (!subscriber.queue.offer(payload)) {
+            if (slowSubscriberPolicy == SlowSubscriberPolicy.DISCONNECT) {
+                slowDisconnects.increment();
+                close(subscriber);
+                return;
+            }
+            // Make room by dropping the oldest buffered event; retry once in case the sender just drained
+            subscriber.queue.poll();
+            droppedEvents.increment();
+            if (!subscriber.queue.offer(payload)) {
+                droppedEvents.increment();
+            }
+        }
+        scheduleDrain(subscriber);
+    }
+    
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            sender.execute(() -> drain(subscriber));
+        }
+    }
+    
+    /**
+     * Write the subscriber's buffered events; only one drain per subscriber runs at a time
+     */
+    private void drain(Subscriber subscriber) {
+        boolean aborted = false;
+        try {
+            Set<ResponseBodyEmitter.DataWithMediaType> payload;
+            while (!subscriber.closed && (payload = subscriber.queue.poll()) != null) {
+                subscriber.startSend();
+                try {
+                    subscriber.emitter.send(payload);
+                } finally {
+                    aborted = subscriber.endSend();
+                }
+            }
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Bill stream closed by client: {}", ex.getMessage());
+            close(subscriber);
+        } finally {
+            subscriber.draining.set(false);
+        }
+        if (aborted) {
+            // The stalled write has returned: complete the stream and give back the thread added in its place
+            close(subscriber);
+            resizeSender(-1);
+            return;
+        }
+        // Events offered while the drain was finishing would otherwise wait for the next event
+        if (!subscriber.closed && !subscriber.queue.isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+    
+    /**
+     * Grow or shrink the sender pool; surplus threads end once idle
+     */
+    private void resizeSender(int delta) {
+        synchronized (sender) {
+            int size = sender.getCorePoolSize() + delta;
+            if (delta > 0) {
+                sender.setMaximumPoolSize(size);
+                sender.setCorePoolSize(size);
+            } else {
+                sender.setCorePoolSize(size);
+                sender.setMaximumPoolSize(size);
+            }
+        }
+    }
+    
+    private void close(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscribers.remove(subscriber);
+        subscriber.queue.clear();
+        try {
+            subscriber.emitter.complete();
+        } catch (IllegalStateException ex) {
+            // already completed
+        }
+    }
+    
+    private String serialize(BillChangedEvent event) {
+        BillEventDto dto = BillEventDto.builder()
+                .type(event.getType())
+                .billId(event.getBillId())
+                .title(event.getTitle())
+                .status(event.getStatus())
+                .occurredAt(LocalDateTime.now())
+                .build();
+        try {
+            return objectMapper.writeValueAsString(dto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize event for bill id: " + event.getBillId(), e);
+        }
+    }
+    
+    /**
+     * One open stream with its filter and bounded buffer
+     */
+    private static final class Subscriber {
+        
+        private final SseEmitter emitter;
+        private final Long billId;
+        private final BillStatus status;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+        
+        /**
+         * Thread writing to the emitter and when it started, guarded by this subscriber
+         */
+        private Thread sendingThread;
+        private long sendStartedAt;
+        private boolean sendAborted;
+        
+        private Subscriber(SseEmitter emitter, Long billId, BillStatus status,
+                           BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue) {
+            this.emitter = emitter;
+            this.billId = billId;
+            this.status = status;
+            this.queue = queue;
+        }
+        
+        private boolean matches(BillChangedEvent event) {
+            return (billId == null || billId.equals(event.getBillId()))
+                    && (status == null || status == event.getStatus());
+        }
+        
+        private synchronized void startSend() {
+            sendingThread = Thread.currentThread();
+            sendStartedAt = System.nanoTime();
+        }
+        
+        /**
+         * End the current write, clearing an interrupt left by an abort, and tell whether it was aborted
+         */
+        private synchronized boolean endSend() {
+            sendingThread = null;
+            if (sendAborted) {
+                Thread.interrupted();
+            }
+            return sendAborted;
+        }
+        
+        /**
+         * Close the stream if its current write started longer ago than the timeout, interrupting the
+         * sender thread in case the write can be abandoned
+         */
+        private synchronized boolean abortSendIfStalled(long now, long timeoutNanos) {
+            if (sendingThread == null || sendAborted || now - sendStartedAt < timeoutNanos) {
+                return false;
+            }
+            sendAborted = true;
+            closed = true;
+            sendingThread.interrupt();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.sharemal.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sharemal.dto.BillDto;
+import com.sharemal.dto.PersonDto;
+import com.sharemal.enums.ExportFormat;
+import com.sharemal.repository.BillRepository;
+import com.sharemal.util.CsvUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Service class for exporting all bills as a stream.
+ * Bills are projected from a database cursor and written in small chunks, so memory use does not depend on the row count.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class BillExportService {
+    
+    public static final String CSV_HEADER = "bill_id,title,total_amount,operator,bill_date,status,"
+            + "person_id,person_name,person_amount,payment_status";
+    
+    /**
+     * Number of bills whose persons are loaded and written together
+     */
+    private static final int EXPORT_CHUNK_SIZE = 500;
+    
+    private final BillRepository billRepository;
+    private final BillService billService;
+    private final ObjectMapper objectMapper;
+    
+    /**
+     * Write every bill with its persons to the given stream in the requested format
+     */
+    public void exportBills(ExportFormat format, OutputStream outputStream) throws IOException {
+        log.debug("Exporting all bills as {}", format);
+        
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        
+        long exported = 0;
+        try (Stream<BillDto> bills = billRepository.streamAllDtos()) {
+            List<BillDto> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+            Iterator<BillDto> iterator = bills.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == EXPORT_CHUNK_SIZE || !iterator.hasNext()) {
+                    writeChunk(format, chunk, writer);
+                    exported += chunk.size();
+                    chunk.clear();
+                }
+            }
+        }
+        writer.flush();
+        
+        log.info("Exported {} bills as {}", exported, format);
+    }
+    
+    /**
+     * Load the persons of a chunk of bills with one query and write the chunk
+     */
+    private void writeChunk(ExportFormat format, List<BillDto> chunk, Writer writer) throws IOException {
+        for (BillDto bill : billService.attachPersons(chunk)) {
+            if (format == ExportFormat.CSV) {
+                writeCsvRows(bill, writer);
+            } else {
+                writer.write(objectMapper.writeValueAsString(bill));
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
+    
+    /**
+     * Write one CSV row per person, or a single row with empty person columns for a bill without persons
+     */
+    private void writeCsvRows(BillDto bill, Writer writer) throws IOException {
+        String billColumns = String.join(",",
+                CsvUtils.escape(bill.getId()),
+                CsvUtils.escape(bill.getTitle()),
+                CsvUtils.escape(bill.getTotalAmount()),
+                CsvUtils.escape(bill.getOperator()),
+                CsvUtils.escape(bill.getBillDate()),
+                CsvUtils.escape(bill.getStatus()));
+        
+        if (bill.getPersons().isEmpty()) {
+            writer.write(billColumns);
+            writer.write(",,,,\n");
+            return;
+        }
+        
+        for (PersonDto person : bill.getPersons()) {
+            writer.write(billColumns);
+            writer.write(',');
+            writer.write(String.join(",",
+                    CsvUtils.escape(person.getId()),
+                    CsvUtils.escape(person.getName()),
+                    CsvUtils.escape(person.getAmount()),
+                    CsvUtils.escape(person.getPaymentStatus())));
+            writer.write('\n');
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.sharemal.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sharemal.dto.BillBatchResultDto;
+import com.sharemal.dto.BillCreateRequest;
+import com.sharemal.dto.BillImportResultDto;
+import com.sharemal.enums.ExportFormat;
+import com.sharemal.enums.OperatorType;
+import com.sharemal.exception.ValidationException;
+import com.sharemal.util.CsvReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Service class for importing bills from NDJSON or CSV files.
+ * The input is parsed one record at a time and valid bills are written in bounded chunks.
+ * The next records are only read once the current chunk has been persisted, so a slow database
+ * throttles the reader and memory use stays flat regardless of the file size.
+ */
+@Slf4j
+@Service
+public class BillImportService {
+    
+    /**
+     * Columns a CSV import must provide. The optional bill_id column groups consecutive rows into one bill,
+     * and the optional person_amount column is required for CUSTOM bills. This matches the export layout.
+     */
+    private static final List<String> REQUIRED_CSV_COLUMNS = List.of(
+            "title", "total_amount", "operator", "bill_date", "person_name");
+    
+    private static final int MAX_REPORTED_REJECTIONS = 100;
+    
+    private final BillBatchService billBatchService;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    
+    public BillImportService(BillBatchService billBatchService,
+                             ObjectMapper objectMapper,
+                             @Value("${sharemal.bills.batch.chunk-size:500}") int chunkSize) {
+        this.billBatchService = billBatchService;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+    
+    /**
+     * Import all bills from the given stream in the given format.
+     * A malformed record or a read failure ends the import: it is reported as a rejection on the line being
+     * read and the bills read before it are still persisted and counted in the result.
+     */
+    public BillImportResultDto importBills(ExportFormat format, InputStream inputStream) {
+        log.info("Starting {} bill import", format);
+        
+        ImportProgress progress = new ImportProgress();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        try {
+            if (format == ExportFormat.CSV) {
+                importCsv(reader, progress);
+            } else {
+                importNdjson(reader, progress);
+            }
+        } catch (IOException ex) {
+            log.warn("Bill import stopped on line {}: {}", progress.line, ex.getMessage());
+            progress.reject(progress.line, "Unreadable input, import stopped: " + ex.getMessage());
+        }
+        progress.flush();
+        
+        log.info("Bill import finished: {} records processed, {} imported, {} rejected",
+                progress.processed, progress.imported, progress.rejected);
+        return progress.toResult();
+    }
+    
+    /**
+     * Read one bill creation request per non-blank line
+     */
+    private void importNdjson(BufferedReader reader, ImportProgress progress) throws IOException {
+        String line;
+        long lineNumber = 0;
+        progress.line = 1;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            progress.line = lineNumber + 1;
+            if (line.isBlank()) {
+                continue;
+            }
+            
+            BillCreateRequest request;
+            try {
+                request = objectMapper.readValue(line, BillCreateRequest.class);
+            } catch (JsonProcessingException ex) {
+                progress.reject(lineNumber, "Invalid JSON: " + ex.getOriginalMessage());
+                continue;
+            }
+            progress.accept(lineNumber, request);
+        }
+    }
+    
+    /**
+     * Read CSV rows, grouping consecutive rows with the same bill_id into one bill.
+     * If reading fails, the bill whose rows were being collected is rejected, since its last rows may be missing.
+     */
+    private void importCsv(BufferedReader reader, ImportProgress progress) throws IOException {
+        CsvReader csvReader = new CsvReader(reader);
+        progress.line = csvReader.getLineNumber();
+        List<String> header = csvReader.readRecord();
+        if (header == null) {
+            return;
+        }
+        
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> missingColumns = REQUIRED_CSV_COLUMNS.stream()
+                .filter(column -> !columns.containsKey(column))
+                .toList();
+        if (!missingColumns.isEmpty()) {
+            throw new ValidationException("CSV import is missing required columns: " + String.join(", ", missingColumns));
+        }
+        
+        progress.line = csvReader.getLineNumber();
+        List<List<String>> billRows = new ArrayList<>();
+        String billKey = null;
+        long billLine = 0;
+        List<String> record;
+        try {
+            while ((record = csvReader.readRecord()) != null) {
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    progress.line = csvReader.getLineNumber();
+                    continue;
+                }
+                
+                String key = value(record, columns, "bill_id");
+                if (!billRows.isEmpty() && (key.isEmpty() || !key.equals(billKey))) {
+                    acceptCsvBill(billLine, billRows, columns, progress);
+                    billRows = new ArrayList<>();
+                }
+                if (billRows.isEmpty()) {
+                    billKey = key;
+                    billLine = csvReader.getRecordLineNumber();
+                }
+                billRows.add(record);
+                progress.line = csvReader.getLineNumber();
+            }
+        } catch (IOException ex) {
+            if (!billRows.isEmpty()) {
+                progress.reject(billLine, "Bill rows cut off by unreadable input");
+            }
+            throw ex;
+        }
+        if (!billRows.isEmpty()) {
+            acceptCsvBill(billLine, billRows, columns, progress);
+        }
+    }
+    
+    /**
+     * Convert the rows of one CSV bill into a creation request, taking the bill columns from the first row
+     */
+    private void acceptCsvBill(long line, List<List<String>> rows, Map<String, Integer> columns, ImportProgress progress) {
+        List<String> first = rows.get(0);
+        BillCreateRequest request;
+        try {
+            List<BillCreateRequest.PersonCreateRequest> persons = new ArrayList<>();
+            for (List<String> row : rows) {
+                String name = value(row, columns, "person_name");
+                if (name.isEmpty()) {
+                    continue;
+                }
+                String amount = value(row, columns, "person_amount");
+                persons.add(BillCreateRequest.PersonCreateRequest.builder()
+                        .name(name)
+                        .amount(amount.isEmpty() ? null : new BigDecimal(amount))
+                        .build());
+            }
+            
+            request = BillCreateRequest.builder()
+                    .title(value(first, columns, "title"))
+                    .totalAmount(new BigDecimal(value(first, columns, "total_amount")))
+                    .operator(OperatorType.valueOf(value(first, columns, "operator").toUpperCase(Locale.ROOT)))
+                    .billDate(LocalDate.parse(value(first, columns, "bill_date")))
+                    .persons(persons)
+                    .build();
+        } catch (NumberFormatException ex) {
+            progress.reject(line, "Invalid amount: " + ex.getMessage());
+            return;
+        } catch (DateTimeParseException ex) {
+            progress.reject(line, "Invalid bill date: " + ex.getParsedString());
+            return;
+        } catch (IllegalArgumentException ex) {
+            progress.reject(line, "Invalid operator: " + value(first, columns, "operator"));
+            return;
+        }
+        progress.accept(line, request);
+    }
+    
+    private String value(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return "";
+        }
+        return record.get(index).trim();
+    }
+    
+    /**
+     * Running state of one import: the pending chunk, the counters and the first rejections
+     */
+    private class ImportProgress {
+        
+        private final List<BillCreateRequest> chunk = new ArrayList<>(chunkSize);
+        private final List<Long> chunkLines = new ArrayList<>(chunkSize);
+        private final List<BillImportResultDto.RejectedRecord> rejections = new ArrayList<>();
+        private long processed;
+        private long imported;
+        private long rejected;
+        
+        /**
+         * Line the input is being read from, reported if reading fails
+         */
+        private long line;
+        
+        /**
+         * Validate a parsed bill and queue it for the next chunk
+         */
+        void accept(long line, BillCreateRequest request) {
+            processed++;
+            String error = billBatchService.validate(request);
+            if (error != null) {
+                addRejection(line, error);
+                return;
+            }
+            
+            chunk.add(request);
+            chunkLines.add(line);
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+        
+        /**
+         * Record a record that could not be parsed
+         */
+        void reject(long line, String reason) {
+            processed++;
+            addRejection(line, reason);
+        }
+        
+        /**
+         * Persist the pending chunk and report progress
+         */
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            
+            List<BillBatchResultDto.ItemResult> results = billBatchService.persist(chunk);
+            for (int i = 0; i < results.size(); i++) {
+                if (results.get(i).getStatus() == BillBatchResultDto.ItemStatus.CREATED) {
+                    imported++;
+                } else {
+                    addRejection(chunkLines.get(i), results.get(i).getError());
+                }
+            }
+            chunk.clear();
+            chunkLines.clear();
+            
+            log.info("Bill import progress: {} records processed, {} imported, {} rejected", processed, imported, rejected);
+        }
+        
+        BillImportResultDto toResult() {
+            return BillImportResultDto.builder()
+                    .processed(processed)
+                    .imported(imported)
+                    .rejected(rejected)
+                    .rejections(rejections)
+                    .rejectionsTruncated(rejected > rejections.size())
+                    .build();
+        }
+        
+        private void addRejection(long line, String reason) {
+            rejected++;
+            log.debug("Rejected import record on line {}: {}", line, reason);
+            if (rejections.size() < MAX_REPORTED_REJECTIONS) {
+                rejections.add(BillImportResultDto.RejectedRecord.builder()
+                        .line(line)
+                        .reason(reason)
+                        .build());
+            }
+        }
+    }
+}
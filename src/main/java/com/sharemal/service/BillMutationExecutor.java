@@ -0,0 +1,217 @@
+package com.sharemal.service;
+
+import com.sharemal.dto.BillDto;
+import com.sharemal.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes payment toggles per bill through a fixed set of lanes.
+ * A bill is always mapped to the same lane, so its toggles never race each other for the bill's
+ * optimistic lock. Each lane drains whatever has queued up and applies all toggles of a bill in
+ * one transaction; version conflicts caused by other nodes are retried with bounded backoff.
+ */
+@Slf4j
+@Service
+public class BillMutationExecutor {
+    
+    private final BillService billService;
+    private final int maxBatchSize;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final Lane[] lanes;
+    private final Counter conflicts;
+    private final Counter exhaustedRetries;
+    private final DistributionSummary batchSizes;
+    
+    public BillMutationExecutor(BillService billService,
+                                MeterRegistry meterRegistry,
+                                @Value("${sharemal.bills.mutation.lanes:8}") int laneCount,
+                                @Value("${sharemal.bills.mutation.queue-capacity:1000}") int queueCapacity,
+                                @Value("${sharemal.bills.mutation.max-batch-size:200}") int maxBatchSize,
+                                @Value("${sharemal.bills.mutation.max-attempts:5}") int maxAttempts,
+                                @Value("${sharemal.bills.mutation.initial-backoff-ms:20}") long initialBackoffMillis,
+                                @Value("${sharemal.bills.mutation.max-backoff-ms:500}") long maxBackoffMillis) {
+        this.billService = billService;
+        this.maxBatchSize = maxBatchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.conflicts = Counter.builder("bills.mutation.conflicts")
+                .description("Optimistic locking conflicts hit while applying queued bill mutations")
+                .register(meterRegistry);
+        this.exhaustedRetries = Counter.builder("bills.mutation.retries.exhausted")
+                .description("Batches of bill mutations that still conflicted after the last retry")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("bills.mutation.batch.size")
+                .description("Number of toggles coalesced into one bill transaction")
+                .register(meterRegistry);
+        
+        this.lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane(i, queueCapacity);
+            Gauge.builder("bills.mutation.queue.depth", lanes[i].queue, BlockingQueue::size)
+                    .description("Mutations waiting in a bill lane")
+                    .tag("lane", String.valueOf(i))
+                    .register(meterRegistry);
+            lanes[i].thread.start();
+        }
+    }
+    
+    /**
+     * Queue a payment toggle for a person of a bill
+     *
+     * @return future completed with the bill after the toggle has been committed
+     * @throws ServiceBusyException if the bill's lane is full
+     */
+    public CompletableFuture<BillDto> togglePersonPaymentStatus(Long billId, Long personId) {
+        return togglePersonPaymentStatus(billId, personId, null);
+    }
+    
+    /**
+     * Queue a payment toggle that only applies while the bill is at the expected version (null for any)
+     *
+     * @return future completed with the bill after the toggle has been committed
+     * @throws ServiceBusyException if the bill's lane is full
+     */
+    public CompletableFuture<BillDto> togglePersonPaymentStatus(Long billId, Long personId, Long expectedVersion) {
+        PendingToggle toggle = new PendingToggle(billId, new PaymentToggle(personId, expectedVersion), new CompletableFuture<>());
+        Lane lane = lanes[Math.floorMod(billId.hashCode(), lanes.length)];
+        if (!lane.queue.offer(toggle)) {
+            throw new ServiceBusyException("Too many pending payment changes, please retry shortly");
+        }
+        return toggle.result;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        for (Lane lane : lanes) {
+            lane.thread.interrupt();
+        }
+        for (Lane lane : lanes) {
+            List<PendingToggle> pending = new ArrayList<>();
+            lane.queue.drainTo(pending);
+            pending.forEach(toggle -> toggle.result.completeExceptionally(
+                    new ServiceBusyException("Service is shutting down, please retry")));
+        }
+    }
+    
+    /**
+     * Apply the drained toggles, one transaction per bill, in arrival order within each bill
+     */
+    private void apply(List<PendingToggle> batch) {
+        Map<Long, List<PendingToggle>> togglesByBill = new LinkedHashMap<>();
+        for (PendingToggle toggle : batch) {
+            togglesByBill.computeIfAbsent(toggle.billId(), id -> new ArrayList<>()).add(toggle);
+        }
+        togglesByBill.forEach(this::applyBillToggles);
+    }
+    
+    private void applyBillToggles(Long billId, List<PendingToggle> toggles) {
+        batchSizes.record(toggles.size());
+        List<PaymentToggle> paymentToggles = toggles.stream().map(PendingToggle::toggle).toList();
+        try {
+            BillDto bill = toggleWithRetry(billId, paymentToggles);
+            for (PendingToggle toggle : toggles) {
+                if (toggle.toggle().getFailure() != null) {
+                    toggle.result.completeExceptionally(toggle.toggle().getFailure());
+                } else {
+                    toggle.result.complete(bill);
+                }
+            }
+        } catch (RuntimeException ex) {
+            toggles.forEach(toggle -> toggle.result.completeExceptionally(ex));
+        }
+    }
+    
+    private BillDto toggleWithRetry(Long billId, List<PaymentToggle> toggles) {
+        long backoff = initialBackoffMillis;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return billService.togglePersonPaymentStatuses(billId, toggles);
+            } catch (ObjectOptimisticLockingFailureException ex) {
+                conflicts.increment();
+                if (attempt >= maxAttempts) {
+                    exhaustedRetries.increment();
+                    log.warn("Giving up on {} payment toggles for bill id: {} after {} conflicting attempts",
+                            toggles.size(), billId, attempt);
+                    throw ex;
+                }
+                log.debug("Version conflict on bill id: {} (attempt {}), retrying in up to {} ms", billId, attempt, backoff);
+                sleep(ThreadLocalRandom.current().nextLong(backoff / 2, backoff + 1));
+                backoff = Math.min(backoff * 2, maxBackoffMillis);
+            }
+        }
+    }
+    
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Interrupted while waiting to retry", e);
+        }
+    }
+    
+    /**
+     * A toggle waiting in a lane together with the future handed to the caller
+     */
+    private record PendingToggle(Long billId, PaymentToggle toggle, CompletableFuture<BillDto> result) {
+    }
+    
+    /**
+     * One serial worker and its bounded queue
+     */
+    private final class Lane implements Runnable {
+        
+        private final BlockingQueue<PendingToggle> queue;
+        private final Thread thread;
+        
+        private Lane(int index, int capacity) {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.thread = new Thread(this, "bill-lane-" + index);
+            this.thread.setDaemon(true);
+        }
+        
+        @Override
+        public void run() {
+            List<PendingToggle> batch = new ArrayList<>(maxBatchSize);
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    PendingToggle first = queue.poll(1, TimeUnit.SECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, maxBatchSize - 1);
+                    apply(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    log.error("Unexpected failure in bill mutation lane", e);
+                    batch.forEach(toggle -> toggle.result.completeExceptionally(e));
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.sharemal.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.sharemal.dto.BillDto;
+import com.sharemal.event.BillChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of serialized single-bill responses, keyed by bill ID and version.
+ * A hit skips entity-to-DTO conversion and JSON serialization entirely: the cached UTF-8 bytes are
+ * written into the response as they are. Entries are evicted when a bill change commits, and an
+ * entry whose version no longer matches the bill is never served.
+ */
+@Slf4j
+@Service
+public class BillResponseCache {
+    
+    private final BillService billService;
+    private final ObjectMapper objectMapper;
+    private final int maxEntries;
+    private final Map<Long, SerializedBill> entries = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    
+    public BillResponseCache(BillService billService,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${sharemal.bills.response-cache.max-entries:10000}") int maxEntries) {
+        this.billService = billService;
+        this.objectMapper = objectMapper;
+        this.maxEntries = maxEntries;
+        this.hits = Counter.builder("bills.response.cache.requests")
+                .description("Single-bill responses looked up in the serialized response cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("bills.response.cache.requests")
+                .description("Single-bill responses looked up in the serialized response cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("bills.response.cache.size", entries, Map::size)
+                .description("Serialized bill responses currently cached")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Get the serialized JSON of a bill together with the version it was serialized from, serializing and
+     * caching it if the cached copy is missing or older than the given current version
+     *
+     * @param currentVersion version of the bill just read, e.g. for a conditional request
+     * @throws com.sharemal.exception.ResourceNotFoundException if the bill does not exist
+     */
+    public SerializedBill getBill(Long id, Long currentVersion) {
+        SerializedBill cached = entries.get(id);
+        if (cached != null && cached.version().equals(currentVersion)) {
+            hits.increment();
+            return cached;
+        }
+        
+        misses.increment();
+        // The version is taken from the loaded bill, not the one passed in, in case it changed in between
+        BillDto bill = billService.getBillById(id);
+        SerializedBill serialized = new SerializedBill(bill.getVersion(), serialize(bill));
+        if (entries.size() >= maxEntries && !entries.containsKey(id)) {
+            evictOne();
+        }
+        entries.put(id, serialized);
+        return serialized;
+    }
+    
+    /**
+     * Drop the cached response of a bill once a change to it has committed
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBillChanged(BillChangedEvent event) {
+        entries.remove(event.getBillId());
+    }
+    
+    private RawValue serialize(BillDto bill) {
+        try {
+            // SerializedString keeps the UTF-8 bytes, so later writes copy them without re-encoding
+            return new RawValue(new SerializedString(objectMapper.writeValueAsString(bill)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize bill with id: " + bill.getId(), e);
+        }
+    }
+    
+    /**
+     * Make room for a new entry by dropping an arbitrary one; cheap and good enough to keep the cache bounded
+     */
+    private void evictOne() {
+        Iterator<Long> iterator = entries.keySet().iterator();
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+    
+    /**
+     * Serialized bill together with the version it was serialized from
+     */
+    public record SerializedBill(Long version, RawValue json) {
+    }
+}
@@ -1,27 +1,47 @@
 package com.sharemal.service;
 
+import com.sharemal.dto.BillCollectionStateDto;
 import com.sharemal.dto.BillCreateRequest;
 import com.sharemal.dto.BillDto;
+import com.sharemal.dto.BillPageDto;
+import com.sharemal.dto.BillQueryCriteria;
+import com.sharemal.dto.BillSummaryDto;
+import com.sharemal.dto.BillSummaryPageDto;
 import com.sharemal.dto.BillUpdateRequest;
 import com.sharemal.dto.PersonDto;
+import com.sharemal.enums.BillSortOrder;
 import com.sharemal.enums.BillStatus;
 import com.sharemal.enums.OperatorType;
 import com.sharemal.enums.PaymentStatus;
+import com.sharemal.event.BillChangedEvent;
+import com.sharemal.event.PaymentStatusChangedEvent;
+import com.sharemal.event.PersonNamesChangedEvent;
+import com.sharemal.exception.ConflictException;
+import com.sharemal.exception.PreconditionFailedException;
 import com.sharemal.exception.ResourceNotFoundException;
 import com.sharemal.exception.ValidationException;
 import com.sharemal.model.Bill;
+import com.sharemal.model.Money;
 import com.sharemal.model.Person;
 import com.sharemal.repository.BillRepository;
 import com.sharemal.repository.PersonRepository;
+import com.sharemal.util.BillRequestValidator;
+import com.sharemal.util.CursorCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -33,18 +53,146 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class BillService {
     
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    
+    /**
+     * Maximum number of bill IDs bound into a single IN (...) list when loading persons
+     */
+    private static final int PERSON_FETCH_CHUNK_SIZE = 1000;
+    
     private final BillRepository billRepository;
     private final PersonRepository personRepository;
+    private final BillTitleIndex billTitleIndex;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * Get all bills
      */
     public List<BillDto> getAllBills() {
         log.debug("Fetching all bills");
-        return billRepository.findAllWithPersons()
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return attachPersons(billRepository.findAllDtos());
+    }
+    
+    /**
+     * Get a page of bills ordered by bill date and ID (newest first), starting after the given cursor
+     */
+    public BillPageDto getBillsPage(String after, int limit) {
+        log.debug("Fetching bills page after cursor: {} with limit: {}", after, limit);
+        
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ValidationException("Page limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        
+        // Fetch one extra row to find out whether another page follows
+        PageRequest pageRequest = PageRequest.of(0, limit + 1);
+        List<BillDto> bills;
+        if (after == null || after.isBlank()) {
+            bills = billRepository.findFirstPage(pageRequest);
+        } else {
+            String[] position = CursorCodec.decode(after, 2);
+            bills = billRepository.findPageAfter(parseCursorDate(position[0]), parseCursorId(position[1]), pageRequest);
+        }
+        
+        String nextCursor = null;
+        if (bills.size() > limit) {
+            bills = bills.subList(0, limit);
+            BillDto last = bills.get(limit - 1);
+            nextCursor = CursorCodec.encode(last.getBillDate(), last.getId());
+        }
+        
+        return BillPageDto.builder()
+                .bills(attachPersons(bills))
+                .nextCursor(nextCursor)
+                .build();
+    }
+    
+    /**
+     * Get all bills as summaries without persons
+     */
+    public List<BillSummaryDto> getAllBillSummaries() {
+        log.debug("Fetching all bill summaries");
+        return billRepository.findAllSummaries();
+    }
+    
+    /**
+     * Get a page of bill summaries in the order and with the cursors of {@link #getBillsPage}
+     */
+    public BillSummaryPageDto getBillSummariesPage(String after, int limit) {
+        log.debug("Fetching bill summaries page after cursor: {} with limit: {}", after, limit);
+        
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ValidationException("Page limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        
+        // Fetch one extra row to find out whether another page follows
+        PageRequest pageRequest = PageRequest.of(0, limit + 1);
+        List<BillSummaryDto> bills;
+        if (after == null || after.isBlank()) {
+            bills = billRepository.findFirstSummaryPage(pageRequest);
+        } else {
+            String[] position = CursorCodec.decode(after, 2);
+            bills = billRepository.findSummaryPageAfter(parseCursorDate(position[0]), parseCursorId(position[1]), pageRequest);
+        }
+        
+        String nextCursor = null;
+        if (bills.size() > limit) {
+            bills = bills.subList(0, limit);
+            BillSummaryDto last = bills.get(limit - 1);
+            nextCursor = CursorCodec.encode(last.getBillDate(), last.getId());
+        }
+        
+        return BillSummaryPageDto.builder()
+                .bills(bills)
+                .nextCursor(nextCursor)
+                .build();
+    }
+    
+    /**
+     * Query bills combining the given optional filters, in the given sort order, starting after the given cursor
+     */
+    public BillPageDto queryBills(BillQueryCriteria criteria, String after, int limit) {
+        log.debug("Querying bills with {} after cursor: {} with limit: {}", criteria, after, limit);
+        
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ValidationException("Page limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (criteria.getFromDate() != null && criteria.getToDate() != null
+                && criteria.getFromDate().isAfter(criteria.getToDate())) {
+            throw new ValidationException("Bill date range is empty: " + criteria.getFromDate() + " is after " + criteria.getToDate());
+        }
+        Long minAmount = criteria.getMinAmount() != null ? BillRequestValidator.toMinorUnits(criteria.getMinAmount(), "Minimum amount") : null;
+        Long maxAmount = criteria.getMaxAmount() != null ? BillRequestValidator.toMinorUnits(criteria.getMaxAmount(), "Maximum amount") : null;
+        if (minAmount != null && maxAmount != null && minAmount > maxAmount) {
+            throw new ValidationException("Amount range is empty: " + criteria.getMinAmount() + " is above " + criteria.getMaxAmount());
+        }
+        
+        BillSortOrder sort = criteria.getSort();
+        if (after != null && !after.isBlank()) {
+            // The sort order is part of the cursor, so a cursor cannot continue a differently sorted listing
+            String[] position = CursorCodec.decode(after, 3);
+            if (!sort.name().equals(position[0])) {
+                throw new ValidationException("Cursor belongs to sort order " + position[0] + ", not " + sort);
+            }
+            criteria.setAfterKey(sort.isByBillDate() ? parseCursorDate(position[1]) : parseCursorAmount(position[1]));
+            criteria.setAfterId(parseCursorId(position[2]));
+        }
+        // Fetch one extra row to find out whether another page follows
+        criteria.setLimit(limit + 1);
+        List<BillDto> bills = billRepository.queryDtos(criteria);
+        
+        String nextCursor = null;
+        if (bills.size() > limit) {
+            bills = bills.subList(0, limit);
+            BillDto last = bills.get(limit - 1);
+            nextCursor = CursorCodec.encode(sort.name(),
+                    sort.isByBillDate() ? last.getBillDate() : last.getTotalAmount().getMinorUnits(), last.getId());
+        }
+        
+        return BillPageDto.builder()
+                .bills(attachPersons(bills))
+                .nextCursor(nextCursor)
+                .build();
     }
     
     /**
@@ -52,31 +200,62 @@ public class BillService {
      */
     public BillDto getBillById(Long id) {
         log.debug("Fetching bill with id: {}", id);
-        Bill bill = billRepository.findByIdWithPersons(id)
+        // Look up by ID rather than with a fetch-join query so the bill, its persons collection and
+        // the persons can all be served from the second-level cache
+        Bill bill = billRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Bill not found with id: " + id));
         return convertToDto(bill);
     }
     
+    /**
+     * Get the current version of a bill, served from the second-level cache when possible
+     */
+    public Long getBillVersion(Long id) {
+        return billRepository.findById(id)
+                .map(Bill::getVersion)
+                .orElseThrow(() -> new ResourceNotFoundException("Bill not found with id: " + id));
+    }
+    
+    /**
+     * Get the number of bills and the latest modification time across all bills, which together change
+     * whenever any bill is created, changed or deleted
+     */
+    public BillCollectionStateDto getCollectionState() {
+        return billRepository.findCollectionState();
+    }
+    
     /**
      * Get bills by status
      */
     public List<BillDto> getBillsByStatus(BillStatus status) {
         log.debug("Fetching bills with status: {}", status);
-        return billRepository.findByStatus(status)
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return attachPersons(billRepository.findDtosByStatus(status));
     }
     
     /**
-     * Get bills by title containing text
+     * Get bills by title containing text, best matches first
      */
-    public List<BillDto> getBillsByTitle(String title) {
-        log.debug("Fetching bills with title containing: {}", title);
-        return billRepository.findByTitleContainingIgnoreCase(title)
+    public List<BillDto> getBillsByTitle(String title, int limit) {
+        log.debug("Fetching up to {} bills with title containing: {}", limit, title);
+        
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ValidationException("Search limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        
+        List<Long> ids = billTitleIndex.search(title, limit).orElse(null);
+        if (ids == null) {
+            // Index is still being built at startup, fall back to the database
+            return attachPersons(billRepository.findDtosByTitleContaining(title, PageRequest.of(0, limit)));
+        }
+        
+        Map<Long, BillDto> billsById = billRepository.findDtosByIdIn(ids)
                 .stream()
-                .map(this::convertToDto)
+                .collect(Collectors.toMap(BillDto::getId, bill -> bill));
+        List<BillDto> rankedBills = ids.stream()
+                .map(billsById::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
+        return attachPersons(rankedBills);
     }
     
     /**
@@ -86,13 +265,29 @@ public class BillService {
     public BillDto createBill(BillCreateRequest request) {
         log.debug("Creating new bill with title: {}", request.getTitle());
         
-        // Validate request
-        validateBillCreateRequest(request);
+        BillRequestValidator.validateCreateRequest(request);
+        Bill bill = buildValidatedBill(request);
+        
+        // Save bill (persons will be saved automatically due to cascade) and flush so the response carries the version
+        Bill savedBill = billRepository.saveAndFlush(bill);
+        
+        eventPublisher.publishEvent(BillChangedEvent.of(BillChangedEvent.ChangeType.CREATED, savedBill));
+        eventPublisher.publishEvent(PersonNamesChangedEvent.added(personNames(savedBill)));
+        log.info("Bill created successfully with id: {}", savedBill.getId());
         
+        // Build the response from the saved graph instead of reading it back
+        return convertToDto(savedBill);
+    }
+    
+    /**
+     * Build the unsaved bill with its persons and their amounts from a request that has already passed
+     * {@link BillRequestValidator#validateCreateRequest}
+     */
+    public Bill buildValidatedBill(BillCreateRequest request) {
         // Create bill entity
         Bill bill = new Bill();
         bill.setTitle(request.getTitle());
-        bill.setTotalAmount(request.getTotalAmount());
+        bill.setTotalAmount(Money.of(request.getTotalAmount()));
         bill.setOperator(request.getOperator());
         bill.setBillDate(request.getBillDate());
         bill.setStatus(BillStatus.INCOMPLETE);
@@ -113,16 +308,11 @@ public class BillService {
         if (request.getOperator() == OperatorType.EQUALLY) {
             distributeAmountEqually(bill, persons);
         } else {
-            distributeAmountCustom(bill, persons, request.getPersons());
+            distributeAmountCustom(persons, request.getPersons());
         }
+        bill.recalculatePaymentCounters();
         
-        // Save bill (persons will be saved automatically due to cascade)
-        Bill savedBill = billRepository.save(bill);
-        
-        log.info("Bill created successfully with id: {}", savedBill.getId());
-        
-        // Return bill with persons
-        return getBillById(savedBill.getId());
+        return bill;
     }
     
     /**
@@ -130,17 +320,34 @@ public class BillService {
      */
     @Transactional
     public BillDto updateBill(Long id, BillUpdateRequest request) {
+        return updateBill(id, request, null);
+    }
+    
+    /**
+     * Update an existing bill if it is still at the expected version (from If-Match); null skips the check
+     */
+    @Transactional
+    public BillDto updateBill(Long id, BillUpdateRequest request, Long expectedVersion) {
         log.debug("Updating bill with id: {}", id);
         
         Bill existingBill = billRepository.findByIdWithPersons(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Bill not found with id: " + id));
         
+        if (expectedVersion != null && !expectedVersion.equals(existingBill.getVersion())) {
+            throw new PreconditionFailedException("Bill with id: " + id + " does not match the expected version "
+                    + expectedVersion);
+        }
+        if (request.getVersion() != null && !request.getVersion().equals(existingBill.getVersion())) {
+            throw new ConflictException("Bill with id: " + id + " was modified concurrently (expected version "
+                    + request.getVersion() + ", current version " + existingBill.getVersion() + ")");
+        }
+        
         // Update fields if provided
         if (request.getTitle() != null) {
             existingBill.setTitle(request.getTitle());
         }
         if (request.getTotalAmount() != null) {
-            existingBill.setTotalAmount(request.getTotalAmount());
+            existingBill.setTotalAmount(Money.ofMinor(BillRequestValidator.toMinorUnits(request.getTotalAmount(), "Total bill amount")));
         }
         if (request.getOperator() != null) {
             existingBill.setOperator(request.getOperator());
@@ -148,14 +355,19 @@ public class BillService {
         if (request.getBillDate() != null) {
             existingBill.setBillDate(request.getBillDate());
         }
-        if (request.getStatus() != null) {
-            existingBill.setStatus(request.getStatus());
+        // The status follows from the payments; a client echoing it back must agree with it
+        existingBill.refreshStatus();
+        if (request.getStatus() != null && request.getStatus() != existingBill.getStatus()) {
+            throw new ValidationException("Bill status " + request.getStatus() + " does not match its payments ("
+                    + existingBill.getStatus() + "); toggle the persons' payments instead");
         }
         
-        Bill updatedBill = billRepository.save(existingBill);
+        // Flush so the version-checked UPDATE runs now and the response carries the new version
+        Bill updatedBill = billRepository.saveAndFlush(existingBill);
+        eventPublisher.publishEvent(BillChangedEvent.of(BillChangedEvent.ChangeType.UPDATED, updatedBill));
         log.info("Bill updated successfully with id: {}", updatedBill.getId());
         
-        return getBillById(updatedBill.getId());
+        return convertToDto(updatedBill);
     }
     
     /**
@@ -170,9 +382,20 @@ public class BillService {
         
         // Delete bill (persons will be deleted automatically due to cascade)
         billRepository.deleteById(id);
+        eventPublisher.publishEvent(BillChangedEvent.of(BillChangedEvent.ChangeType.DELETED, bill));
+        eventPublisher.publishEvent(PersonNamesChangedEvent.removed(personNames(bill)));
         log.info("Bill deleted successfully with id: {}", id);
     }
     
+    /**
+     * Names of all persons of a bill
+     */
+    public List<String> personNames(Bill bill) {
+        return bill.getPersons().stream()
+                .map(Person::getName)
+                .collect(Collectors.toList());
+    }
+    
     /**
      * Distribute amount equally among all persons
      */
@@ -181,10 +404,11 @@ public class BillService {
             throw new ValidationException("At least one person is required for bill creation");
         }
         
-        BigDecimal totalAmount = bill.getTotalAmount();
+        long totalAmount = bill.getTotalAmount().getMinorUnits();
         int numberOfPersons = persons.size();
-        BigDecimal amountPerPerson = totalAmount.divide(BigDecimal.valueOf(numberOfPersons), 2, RoundingMode.DOWN);
-        BigDecimal remainingAmount = totalAmount.subtract(amountPerPerson.multiply(BigDecimal.valueOf(numberOfPersons)));
+        // Integer division rounds the share down to the cent; all but the last person share one Money instance
+        Money amountPerPerson = Money.ofMinor(totalAmount / numberOfPersons);
+        long remainingAmount = totalAmount - amountPerPerson.getMinorUnits() * numberOfPersons;
         
         // Distribute equal amounts to all persons except the last one
         for (int i = 0; i < numberOfPersons - 1; i++) {
@@ -192,92 +416,75 @@ public class BillService {
         }
         
         // Assign remaining amount to the last person to handle rounding differences
-        persons.get(numberOfPersons - 1).setAmount(amountPerPerson.add(remainingAmount));
+        persons.get(numberOfPersons - 1).setAmount(Money.ofMinor(amountPerPerson.getMinorUnits() + remainingAmount));
         
-        log.debug("Distributed {} equally among {} persons", totalAmount, numberOfPersons);
+        log.debug("Distributed {} equally among {} persons", bill.getTotalAmount(), numberOfPersons);
     }
     
     /**
-     * Distribute amount with custom amounts for each person
+     * Assign each person the custom amount of their request; the amounts have been validated to add up to the total
      */
-    private void distributeAmountCustom(Bill bill, List<Person> persons, List<BillCreateRequest.PersonCreateRequest> personRequests) {
-        BigDecimal totalCustomAmount = BigDecimal.ZERO;
-        
-        log.debug("Validating custom amounts for bill total: {}", bill.getTotalAmount());
-        
+    private void distributeAmountCustom(List<Person> persons, List<BillCreateRequest.PersonCreateRequest> personRequests) {
         for (int i = 0; i < persons.size(); i++) {
-            Person person = persons.get(i);
-            BillCreateRequest.PersonCreateRequest personRequest = personRequests.get(i);
-            
-            if (personRequest.getAmount() == null) {
-                throw new ValidationException("Amount is required for person: " + person.getName() + " when using CUSTOM operator");
-            }
-            
-            if (personRequest.getAmount().compareTo(BigDecimal.ZERO) < 0) {
-                throw new ValidationException("Amount cannot be negative for person: " + person.getName());
-            }
-            
-            person.setAmount(personRequest.getAmount());
-            totalCustomAmount = totalCustomAmount.add(personRequest.getAmount());
-            
-            log.debug("Person: {} - Amount: {}", person.getName(), personRequest.getAmount());
+            persons.get(i).setAmount(Money.of(personRequests.get(i).getAmount()));
         }
-        
-        log.debug("Total custom amount calculated: {}", totalCustomAmount);
-        
-        // Validate that custom amounts sum to total bill amount
-        if (totalCustomAmount.compareTo(bill.getTotalAmount()) != 0) {
-            String errorMessage = String.format(
-                "Custom amounts validation failed: Sum of individual amounts (%s) does not equal total bill amount (%s). Please ensure all amounts add up correctly.",
-                totalCustomAmount, 
-                bill.getTotalAmount()
-            );
-            log.error(errorMessage);
-            throw new ValidationException(errorMessage);
+    }
+    
+    /**
+     * Parse the bill date part of a page cursor
+     */
+    private LocalDate parseCursorDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException ex) {
+            throw new ValidationException("Invalid cursor date: " + value, ex);
         }
-        
-        log.debug("Successfully distributed {} with custom amounts", bill.getTotalAmount());
     }
     
     /**
-     * Validate bill creation request
+     * Parse the total amount (in minor units) part of a page cursor
      */
-    private void validateBillCreateRequest(BillCreateRequest request) {
-        if (request.getPersons() == null || request.getPersons().isEmpty()) {
-            throw new ValidationException("At least one person is required for bill creation");
+    private Money parseCursorAmount(String value) {
+        try {
+            return Money.ofMinor(Long.parseLong(value));
+        } catch (NumberFormatException ex) {
+            throw new ValidationException("Invalid cursor amount: " + value, ex);
+        }
+    }
+    
+    /**
+     * Parse the ID part of a page cursor
+     */
+    private Long parseCursorId(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException ex) {
+            throw new ValidationException("Invalid cursor id: " + value, ex);
+        }
+    }
+    
+    /**
+     * Attach persons to bill DTOs projected without them. All persons of the bills are projected with one
+     * IN (...) query per chunk and grouped by bill ID in a single pass, so a list costs two round-trips,
+     * hydrates no entities and avoids the row multiplication of a collection fetch join.
+     */
+    public List<BillDto> attachPersons(List<BillDto> bills) {
+        if (bills.isEmpty()) {
+            return bills;
         }
         
-        if (request.getTotalAmount() == null || request.getTotalAmount().compareTo(BigDecimal.ZERO) <= 0) {
-            throw new ValidationException("Total bill amount must be greater than zero");
-        }
-        
-        if (request.getOperator() == OperatorType.CUSTOM) {
-            BigDecimal totalCustomAmount = BigDecimal.ZERO;
-            
-            for (BillCreateRequest.PersonCreateRequest personRequest : request.getPersons()) {
-                if (personRequest.getAmount() == null) {
-                    throw new ValidationException("Amount is required for person: " + personRequest.getName() + 
-                            " when using CUSTOM operator");
-                }
-                
-                if (personRequest.getAmount().compareTo(BigDecimal.ZERO) < 0) {
-                    throw new ValidationException("Amount cannot be negative for person: " + personRequest.getName());
-                }
-                
-                totalCustomAmount = totalCustomAmount.add(personRequest.getAmount());
-            }
-            
-            // Early validation of custom amounts sum
-            if (totalCustomAmount.compareTo(request.getTotalAmount()) != 0) {
-                String errorMessage = String.format(
-                    "Custom amounts validation failed: Sum of individual amounts (%s) does not equal total bill amount (%s). Please ensure all amounts add up correctly.",
-                    totalCustomAmount, 
-                    request.getTotalAmount()
-                );
-                log.error("Early validation failed: {}", errorMessage);
-                throw new ValidationException(errorMessage);
+        Map<Long, BillDto> billsById = new HashMap<>(bills.size() * 2);
+        for (BillDto bill : bills) {
+            billsById.put(bill.getId(), bill);
+        }
+        List<Long> billIds = new ArrayList<>(billsById.keySet());
+        for (int from = 0; from < billIds.size(); from += PERSON_FETCH_CHUNK_SIZE) {
+            List<Long> chunk = billIds.subList(from, Math.min(from + PERSON_FETCH_CHUNK_SIZE, billIds.size()));
+            for (PersonDto person : personRepository.findDtosByBillIdIn(chunk)) {
+                billsById.get(person.getBillId()).getPersons().add(person);
             }
         }
+        return bills;
     }
     
     /**
@@ -299,35 +506,28 @@ public class BillService {
                 .persons(personDtos)
                 .createdAt(bill.getCreatedAt())
                 .updatedAt(bill.getUpdatedAt())
+                .version(bill.getVersion())
                 .build();
     }
     
     /**
-     * Update bill status based on person payment statuses
+     * Update bill status based on the bill's payment counters
      */
     @Transactional
     public BillDto updateBillStatus(Long billId) {
         log.debug("Updating bill status for bill id: {}", billId);
         
-        Bill bill = billRepository.findByIdWithPersons(billId)
+        // The status follows from the counters alone, so the persons are not loaded
+        Bill bill = billRepository.findById(billId)
                 .orElseThrow(() -> new ResourceNotFoundException("Bill not found with id: " + billId));
         
-        // Count paid and unpaid persons
-        long paidCount = bill.getPersons().stream()
-                .mapToLong(person -> person.getPaymentStatus() == PaymentStatus.PAID ? 1 : 0)
-                .sum();
-        long totalCount = bill.getPersons().size();
-        
-        // Update bill status based on payment statuses
-        if (paidCount == 0) {
-            bill.setStatus(BillStatus.INCOMPLETE);
-        } else if (paidCount == totalCount) {
-            bill.setStatus(BillStatus.COMPLETE);
-        } else {
-            bill.setStatus(BillStatus.INCOMPLETE);
-        }
+        BillStatus previousStatus = bill.getStatus();
+        bill.refreshStatus();
         
-        Bill updatedBill = billRepository.save(bill);
+        Bill updatedBill = billRepository.saveAndFlush(bill);
+        if (updatedBill.getStatus() != previousStatus) {
+            eventPublisher.publishEvent(BillChangedEvent.of(BillChangedEvent.ChangeType.STATUS_CHANGED, updatedBill));
+        }
         log.info("Bill status updated to {} for bill id: {}", updatedBill.getStatus(), billId);
         
         return convertToDto(updatedBill);
@@ -338,30 +538,74 @@ public class BillService {
      */
     @Transactional
     public BillDto togglePersonPaymentStatus(Long billId, Long personId) {
-        log.debug("Toggling payment status for person id: {} in bill id: {}", personId, billId);
-        
-        // Find the bill with persons eagerly loaded
-        Bill bill = billRepository.findByIdWithPersons(billId)
-                .orElseThrow(() -> new RuntimeException("Bill not found with id: " + billId));
-        
-        // Find the person in the bill
-        Person person = bill.getPersons().stream()
-                .filter(p -> p.getId().equals(personId))
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("Person not found with id: " + personId + " in bill: " + billId));
-        
-        // Toggle payment status
-        PaymentStatus newStatus = person.getPaymentStatus() == PaymentStatus.PAID 
-                ? PaymentStatus.UNPAID 
-                : PaymentStatus.PAID;
+        PaymentToggle toggle = new PaymentToggle(personId, null);
+        BillDto bill = togglePersonPaymentStatuses(billId, List.of(toggle));
+        if (toggle.getFailure() != null) {
+            throw toggle.getFailure();
+        }
+        return bill;
+    }
+    
+    /**
+     * Toggle the payment status of the given persons of one bill, in order, in a single transaction.
+     * Toggles that cannot be applied (unknown person, stale expected version) get a failure recorded
+     * and are skipped; the others still go ahead.
+     */
+    @Transactional
+    public BillDto togglePersonPaymentStatuses(Long billId, List<PaymentToggle> toggles) {
+        log.debug("Toggling payment status for {} persons in bill id: {}", toggles.size(), billId);
         
-        person.setPaymentStatus(newStatus);
-        personRepository.save(person);
+        // Load the bill and only the toggled persons, each by ID so they can come from the second-level cache;
+        // the bill's counters and status follow from the toggled persons without reading the others
+        Bill bill = billRepository.findById(billId)
+                .orElseThrow(() -> new ResourceNotFoundException("Bill not found with id: " + billId));
         
-        log.info("Payment status toggled to {} for person id: {} in bill id: {}", newStatus, personId, billId);
+        // All toggles commit as one new version, so a conditional toggle only holds before any other was applied
+        Long currentVersion = bill.getVersion();
+        BillStatus previousStatus = bill.getStatus();
+        boolean modified = false;
+        for (PaymentToggle toggle : toggles) {
+            toggle.setFailure(null);
+            Person person = personRepository.findById(toggle.getPersonId())
+                    .filter(candidate -> candidate.getBill().getId().equals(billId))
+                    .orElse(null);
+            if (person == null) {
+                toggle.setFailure(new ResourceNotFoundException(
+                        "Person not found with id: " + toggle.getPersonId() + " in bill: " + billId));
+                continue;
+            }
+            if (toggle.getExpectedVersion() != null && (modified || !toggle.getExpectedVersion().equals(currentVersion))) {
+                toggle.setFailure(new PreconditionFailedException("Bill with id: " + billId
+                        + " does not match the expected version " + toggle.getExpectedVersion()));
+                continue;
+            }
+            // Toggle payment status; the bill's counters and status follow without recounting the persons
+            PaymentStatus newStatus = person.getPaymentStatus() == PaymentStatus.PAID 
+                    ? PaymentStatus.UNPAID 
+                    : PaymentStatus.PAID;
+            bill.changePaymentStatus(person, newStatus);
+            eventPublisher.publishEvent(PaymentStatusChangedEvent.of(person));
+            modified = true;
+            log.info("Payment status toggled to {} for person id: {} in bill id: {}", newStatus, person.getId(), billId);
+        }
         
-        // Update bill status based on all person payment statuses
-        return updateBillStatus(billId);
+        // Flush one UPDATE per toggled person by ID and a single UPDATE of the bill's counters and status,
+        // each conditional on the version read above; the response's persons come from the cached collection
+        Bill updatedBill = billRepository.saveAndFlush(bill);
+        if (modified) {
+            publishPaymentEvents(updatedBill, previousStatus);
+        }
+        return convertToDto(updatedBill);
+    }
+    
+    /**
+     * Publish a payment change of the bill, and its status change if the payment completed or reopened the bill
+     */
+    public void publishPaymentEvents(Bill bill, BillStatus previousStatus) {
+        eventPublisher.publishEvent(BillChangedEvent.of(BillChangedEvent.ChangeType.PAYMENT_TOGGLED, bill));
+        if (bill.getStatus() != previousStatus) {
+            eventPublisher.publishEvent(BillChangedEvent.of(BillChangedEvent.ChangeType.STATUS_CHANGED, bill));
+        }
     }
     
     /**
@@ -0,0 +1,208 @@
+package com.sharemal.service;
+
+import com.sharemal.dto.BillTitleDto;
+import com.sharemal.event.BillChangedEvent;
+import com.sharemal.repository.BillRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory trigram inverted index over bill titles.
+ * Substring searches intersect the posting lists of the query's trigrams instead of scanning the bills table.
+ * The index is rebuilt from the database at startup and then kept in sync from committed bill changes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BillTitleIndex {
+    
+    private static final int GRAM_LENGTH = 3;
+    
+    private final BillRepository billRepository;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, String> titles = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private volatile boolean ready;
+    
+    /**
+     * Load every bill title into the index
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        log.info("Building bill title index");
+        long count = 0;
+        lock.writeLock().lock();
+        try (Stream<BillTitleDto> billTitles = billRepository.streamAllTitles()) {
+            for (BillTitleDto billTitle : (Iterable<BillTitleDto>) billTitles::iterator) {
+                put(billTitle.getId(), billTitle.getTitle());
+                count++;
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Bill title index built with {} bills and {} trigrams", count, postings.size());
+    }
+    
+    /**
+     * Apply a committed bill change to the index
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBillChanged(BillChangedEvent event) {
+        if (!event.getType().affectsTitle()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (event.getType() == BillChangedEvent.ChangeType.DELETED) {
+                remove(event.getBillId());
+            } else {
+                put(event.getBillId(), event.getTitle());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Find the IDs of bills whose title contains the query (case-insensitive), best matches first.
+     * Exact matches rank above prefix matches, then matches at a word start, then any other match;
+     * ties go to the earliest match, the shortest title and the newest bill.
+     * Returns empty while the index is still being built.
+     */
+    public Optional<List<Long>> search(String query, int limit) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        
+        String normalizedQuery = normalize(query);
+        List<Match> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Long id : candidates(normalizedQuery)) {
+                String title = titles.get(id);
+                int position = title.indexOf(normalizedQuery);
+                if (position >= 0) {
+                    matches.add(new Match(id, rank(title, normalizedQuery, position), position, title.length()));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        
+        return Optional.of(matches.stream()
+                .sorted(Comparator.comparingInt(Match::rank)
+                        .thenComparingInt(Match::position)
+                        .thenComparingInt(Match::length)
+                        .thenComparing(Match::id, Comparator.reverseOrder()))
+                .limit(limit)
+                .map(Match::id)
+                .toList());
+    }
+    
+    /**
+     * Bills that may contain the query: the intersection of its trigram posting lists,
+     * or every bill when the query is too short to have a trigram
+     */
+    private Set<Long> candidates(String query) {
+        if (query.length() < GRAM_LENGTH) {
+            return titles.keySet();
+        }
+        
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : grams(query)) {
+            Set<Long> posting = postings.get(gram);
+            if (posting == null) {
+                return Set.of();
+            }
+            lists.add(posting);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        
+        Set<Long> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+    
+    private int rank(String title, String query, int position) {
+        if (title.length() == query.length()) {
+            return 0;
+        }
+        if (position == 0) {
+            return 1;
+        }
+        if (!Character.isLetterOrDigit(title.charAt(position - 1))) {
+            return 2;
+        }
+        return 3;
+    }
+    
+    /**
+     * Index or re-index a bill title. Must be called with the write lock held.
+     */
+    private void put(Long id, String title) {
+        remove(id);
+        String normalizedTitle = normalize(title);
+        titles.put(id, normalizedTitle);
+        for (String gram : grams(normalizedTitle)) {
+            postings.computeIfAbsent(gram, key -> new HashSet<>()).add(id);
+        }
+    }
+    
+    /**
+     * Remove a bill from the index. Must be called with the write lock held.
+     */
+    private void remove(Long id) {
+        String previousTitle = titles.remove(id);
+        if (previousTitle == null) {
+            return;
+        }
+        for (String gram : grams(previousTitle)) {
+            Set<Long> posting = postings.get(gram);
+            if (posting != null) {
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+    
+    private Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+    
+    private String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+    
+    private record Match(Long id, int rank, int position, int length) {
+    }
+}
@@ -0,0 +1,109 @@
+package com.sharemal.service;
+
+import com.sharemal.dto.BillDto;
+import com.sharemal.dto.BulkPaymentRequest;
+import com.sharemal.dto.BulkPaymentResultDto;
+import com.sharemal.dto.PaymentShareDto;
+import com.sharemal.enums.BillStatus;
+import com.sharemal.event.BillChangedEvent;
+import com.sharemal.event.PaymentsBulkPaidEvent;
+import com.sharemal.exception.ValidationException;
+import com.sharemal.repository.BillRepository;
+import com.sharemal.repository.PersonRepository;
+import com.sharemal.util.Lists;
+import com.sharemal.util.NameNormalizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Service class for payments spanning many bills. Shares are marked as paid with set-based UPDATE
+ * statements and the affected bills' counters and status are recomputed in the database, so no bill
+ * or person entity is loaded however many rows are touched.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class PaymentService {
+    
+    private final PersonRepository personRepository;
+    private final BillRepository billRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    /**
+     * Mark the given persons, or every unpaid share of the given participant, as paid in one transaction.
+     * Shares that are already paid are skipped.
+     */
+    @Transactional
+    public BulkPaymentResultDto markPaid(BulkPaymentRequest request) {
+        boolean byIds = request.getPersonIds() != null;
+        if (byIds == (request.getParticipant() != null)) {
+            throw new ValidationException("Either personIds or participant is required, but not both");
+        }
+        
+        // Collect the shares first: only these persons are updated, so their bills are exactly the ones to recompute
+        List<PaymentShareDto> shares;
+        if (byIds) {
+            log.debug("Marking {} persons as paid", request.getPersonIds().size());
+            List<Long> requestedIds = new ArrayList<>(new LinkedHashSet<>(request.getPersonIds()));
+            shares = new ArrayList<>();
+            for (List<Long> ids : Lists.partition(requestedIds, Lists.MAX_IN_LIST_SIZE)) {
+                shares.addAll(personRepository.findUnpaidSharesByIdIn(ids));
+            }
+        } else {
+            String nameKey = NameNormalizer.normalize(request.getParticipant());
+            if (nameKey.isEmpty()) {
+                throw new ValidationException("Participant name must not be blank");
+            }
+            log.debug("Marking every unpaid share of participant: {} as paid", nameKey);
+            shares = personRepository.findUnpaidSharesByNameKey(nameKey);
+        }
+        if (shares.isEmpty()) {
+            return BulkPaymentResultDto.builder().build();
+        }
+        
+        List<Long> personIds = new ArrayList<>(shares.size());
+        Set<Long> billIdSet = new LinkedHashSet<>();
+        for (PaymentShareDto share : shares) {
+            personIds.add(share.getPersonId());
+            billIdSet.add(share.getBillId());
+        }
+        List<Long> billIds = new ArrayList<>(billIdSet);
+        
+        // Stamped from the application clock like every audited write, so the collection ETag moves forward
+        LocalDateTime now = LocalDateTime.now();
+        int paid = 0;
+        for (List<Long> ids : Lists.partition(personIds, Lists.MAX_IN_LIST_SIZE)) {
+            paid += personRepository.markPaidByIdIn(ids, now);
+        }
+        int completed = 0;
+        for (List<Long> ids : Lists.partition(billIds, Lists.MAX_IN_LIST_SIZE)) {
+            billRepository.recomputePaymentCounters(ids, now);
+            for (BillDto bill : billRepository.findDtosByIdIn(ids)) {
+                eventPublisher.publishEvent(BillChangedEvent.of(BillChangedEvent.ChangeType.PAYMENT_TOGGLED, bill));
+                if (bill.getStatus() == BillStatus.COMPLETE) {
+                    // Marking shares as paid only ever completes a bill, and each of these had an unpaid share
+                    eventPublisher.publishEvent(BillChangedEvent.of(BillChangedEvent.ChangeType.STATUS_CHANGED, bill));
+                    completed++;
+                }
+            }
+        }
+        eventPublisher.publishEvent(new PaymentsBulkPaidEvent(paid));
+        
+        log.info("Marked {} shares as paid across {} bills, {} bills completed", paid, billIds.size(), completed);
+        return BulkPaymentResultDto.builder()
+                .paidCount(paid)
+                .billCount(billIds.size())
+                .completedBillCount(completed)
+                .build();
+    }
+}
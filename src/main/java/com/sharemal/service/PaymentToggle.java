@@ -0,0 +1,25 @@
+package com.sharemal.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One requested payment toggle within a bill, optionally conditional on the bill's version.
+ * When the toggle cannot be applied, the reason is recorded as its failure while the other
+ * toggles of the same transaction still go ahead.
+ */
+@Getter
+@RequiredArgsConstructor
+public class PaymentToggle {
+    
+    private final Long personId;
+    
+    /**
+     * Bill version the caller expects (from If-Match), or null to toggle unconditionally
+     */
+    private final Long expectedVersion;
+    
+    @Setter
+    private RuntimeException failure;
+}
@@ -0,0 +1,185 @@
+package com.sharemal.service;
+
+import com.sharemal.dto.NameSuggestionDto;
+import com.sharemal.event.PersonNamesChangedEvent;
+import com.sharemal.repository.PersonRepository;
+import com.sharemal.util.NameNormalizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory prefix trie of distinct normalized participant names with usage counts.
+ * Every node caches its most frequent names, so a suggestion lookup only walks the prefix
+ * and copies a short list, independent of how many names share the prefix.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PersonNameIndex {
+    
+    public static final int MAX_SUGGESTIONS = 10;
+    
+    private static final Comparator<NameEntry> BY_COUNT_THEN_NAME = Comparator
+            .comparingLong((NameEntry entry) -> entry.count).reversed()
+            .thenComparing(entry -> entry.key);
+    
+    private final PersonRepository personRepository;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node();
+    
+    /**
+     * Replace the trie with every distinct participant name and its count from the database.
+     * The write lock is held while querying so changes committed meanwhile are applied on top of the new counts.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        log.info("Building participant name index");
+        lock.writeLock().lock();
+        try {
+            List<NameSuggestionDto> names = personRepository.findNameCounts();
+            root.children.clear();
+            root.top = List.of();
+            for (NameSuggestionDto name : names) {
+                update(name.getName(), name.getCount());
+            }
+            log.info("Participant name index built with {} names", names.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Apply committed person additions and removals to the trie
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPersonNamesChanged(PersonNamesChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            event.getAddedNames().forEach(name -> update(name, 1));
+            event.getRemovedNames().forEach(name -> update(name, -1));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Most frequent names starting with the given prefix (case-insensitive)
+     */
+    public List<NameSuggestionDto> suggest(String prefix, int limit) {
+        String key = NameNormalizer.normalize(prefix);
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.children.get(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            
+            List<NameSuggestionDto> suggestions = new ArrayList<>(Math.min(limit, node.top.size()));
+            for (int i = 0; i < node.top.size() && i < limit; i++) {
+                NameEntry entry = node.top.get(i);
+                suggestions.add(new NameSuggestionDto(entry.displayName, entry.count));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Change the count of a name and refresh the cached top names along its path.
+     * Must be called with the write lock held.
+     */
+    private void update(String name, long delta) {
+        String key = NameNormalizer.normalize(name);
+        if (key.isEmpty()) {
+            return;
+        }
+        
+        List<Node> path = new ArrayList<>(key.length() + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            Node child = node.children.get(c);
+            if (child == null) {
+                if (delta < 0) {
+                    return;
+                }
+                child = new Node();
+                node.children.put(c, child);
+            }
+            node = child;
+            path.add(node);
+        }
+        
+        if (node.terminal == null) {
+            if (delta < 0) {
+                return;
+            }
+            node.terminal = new NameEntry(key, name.trim());
+        }
+        node.terminal.count += delta;
+        if (node.terminal.count <= 0) {
+            node.terminal = null;
+        }
+        
+        for (int depth = path.size() - 1; depth >= 0; depth--) {
+            Node current = path.get(depth);
+            if (depth > 0 && current.terminal == null && current.children.isEmpty()) {
+                path.get(depth - 1).children.remove(key.charAt(depth - 1));
+                continue;
+            }
+            current.top = topEntries(current);
+        }
+    }
+    
+    private List<NameEntry> topEntries(Node node) {
+        List<NameEntry> candidates = new ArrayList<>();
+        if (node.terminal != null) {
+            candidates.add(node.terminal);
+        }
+        for (Node child : node.children.values()) {
+            candidates.addAll(child.top);
+        }
+        candidates.sort(BY_COUNT_THEN_NAME);
+        return candidates.size() > MAX_SUGGESTIONS
+                ? new ArrayList<>(candidates.subList(0, MAX_SUGGESTIONS))
+                : candidates;
+    }
+    
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private NameEntry terminal;
+        private List<NameEntry> top = List.of();
+    }
+    
+    private static class NameEntry {
+        private final String key;
+        private final String displayName;
+        private long count;
+        
+        private NameEntry(String key, String displayName) {
+            this.key = key;
+            this.displayName = displayName;
+        }
+    }
+}
@@ -1,13 +1,20 @@
 package com.sharemal.service;
 
+import com.sharemal.dto.NameSuggestionDto;
 import com.sharemal.dto.PersonDto;
+import com.sharemal.enums.BillStatus;
 import com.sharemal.enums.PaymentStatus;
+import com.sharemal.event.BillChangedEvent;
+import com.sharemal.event.PaymentStatusChangedEvent;
+import com.sharemal.event.PersonNamesChangedEvent;
 import com.sharemal.exception.ResourceNotFoundException;
 import com.sharemal.exception.ValidationException;
+import com.sharemal.model.Bill;
 import com.sharemal.model.Person;
 import com.sharemal.repository.PersonRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,6 +32,8 @@ public class PersonService {
     
     private final PersonRepository personRepository;
     private final BillService billService;
+    private final PersonNameIndex personNameIndex;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * Get all persons
@@ -69,6 +78,18 @@ public class PersonService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Suggest participant names starting with the given prefix, most used first
+     */
+    public List<NameSuggestionDto> suggestNames(String prefix, int limit) {
+        log.debug("Suggesting up to {} participant names for prefix: {}", limit, prefix);
+        
+        if (limit < 1 || limit > PersonNameIndex.MAX_SUGGESTIONS) {
+            throw new ValidationException("Suggestion limit must be between 1 and " + PersonNameIndex.MAX_SUGGESTIONS);
+        }
+        return personNameIndex.suggest(prefix, limit);
+    }
+    
     /**
      * Create person entity (used internally by BillService)
      * Note: Person cannot be created without a bill - this method is deprecated
@@ -85,7 +106,7 @@ public class PersonService {
     }
     
     /**
-     * Update person payment status and automatically update bill status
+     * Update person payment status and automatically update the bill's payment counters and status
      */
     @Transactional
     public PersonDto updatePersonPaymentStatus(Long personId, PaymentStatus status) {
@@ -94,12 +115,14 @@ public class PersonService {
         Person person = personRepository.findById(personId)
                 .orElseThrow(() -> new ResourceNotFoundException("Person not found with id: " + personId));
         
-        person.setPaymentStatus(status);
+        Bill bill = person.getBill();
+        BillStatus previousStatus = bill.getStatus();
+        PaymentStatus previousPaymentStatus = person.getPaymentStatus();
+        bill.changePaymentStatus(person, status);
         Person updatedPerson = personRepository.save(person);
-        
-        // Automatically update bill status based on all person payment statuses
-        if (person.getBill() != null) {
-            billService.updateBillStatus(person.getBill().getId());
+        if (status != previousPaymentStatus) {
+            eventPublisher.publishEvent(PaymentStatusChangedEvent.of(person));
+            billService.publishPaymentEvents(bill, previousStatus);
         }
         
         log.info("Payment status updated successfully for person id: {}", personId);
@@ -113,11 +136,18 @@ public class PersonService {
     public void deletePerson(Long id) {
         log.debug("Deleting person with id: {}", id);
         
-        if (!personRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Person not found with id: " + id);
-        }
+        Person person = personRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Person not found with id: " + id));
         
-        personRepository.deleteById(id);
+        // Removing through the bill keeps its payment counters in step; orphan removal deletes the row
+        Bill bill = person.getBill();
+        BillStatus previousStatus = bill.getStatus();
+        bill.removePerson(person);
+        eventPublisher.publishEvent(PersonNamesChangedEvent.removed(List.of(person.getName())));
+        eventPublisher.publishEvent(BillChangedEvent.of(BillChangedEvent.ChangeType.UPDATED, bill));
+        if (bill.getStatus() != previousStatus) {
+            eventPublisher.publishEvent(BillChangedEvent.of(BillChangedEvent.ChangeType.STATUS_CHANGED, bill));
+        }
         log.info("Person deleted successfully with id: {}", id);
     }
     
@@ -0,0 +1,74 @@
+package com.sharemal.service;
+
+import com.sharemal.dto.SettlementDto;
+import com.sharemal.dto.SettlementRequest;
+import com.sharemal.exception.ValidationException;
+import com.sharemal.model.Money;
+import com.sharemal.util.NameNormalizer;
+import com.sharemal.util.SettlementCalculator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service computing who pays whom to settle a group's net balances
+ */
+@Slf4j
+@Service
+public class SettlementService {
+    
+    /**
+     * Settle the given net balances with as few transfers as the greedy pairing finds.
+     * Balances of the same participant (names matched case-insensitively and trimmed) are added up first.
+     */
+    public SettlementDto settle(SettlementRequest request) {
+        log.debug("Settling {} balances", request.getBalances().size());
+        
+        Map<String, Integer> indexByKey = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        long[] balances = new long[request.getBalances().size()];
+        long sum = 0;
+        for (SettlementRequest.NetBalance balance : request.getBalances()) {
+            Integer index = indexByKey.computeIfAbsent(NameNormalizer.normalize(balance.getName()), key -> {
+                names.add(balance.getName().trim());
+                return names.size() - 1;
+            });
+            // Bean validation already limits the amount to 10 integer digits and 2 decimals
+            long amount = Money.toMinorUnits(balance.getAmount());
+            balances[index] += amount;
+            sum += amount;
+        }
+        if (sum != 0) {
+            throw new ValidationException("Balances must add up to zero but add up to " + Money.ofMinor(sum));
+        }
+        for (int i = 0; i < names.size(); i++) {
+            if (Math.abs(balances[i]) > SettlementCalculator.MAX_AMOUNT) {
+                throw new ValidationException("Combined balance of " + names.get(i) + " is too large to settle");
+            }
+        }
+        
+        long[] participantBalances = balances.length == names.size() ? balances : Arrays.copyOf(balances, names.size());
+        SettlementCalculator.Transfers transfers = SettlementCalculator.settle(participantBalances);
+        
+        List<SettlementDto.TransferDto> transferDtos = new ArrayList<>(transfers.size());
+        long total = 0;
+        for (int i = 0; i < transfers.size(); i++) {
+            transferDtos.add(SettlementDto.TransferDto.builder()
+                    .from(names.get(transfers.from(i)))
+                    .to(names.get(transfers.to(i)))
+                    .amount(Money.ofMinor(transfers.amount(i)))
+                    .build());
+            total += transfers.amount(i);
+        }
+        log.debug("Settled {} participants with {} transfers", names.size(), transferDtos.size());
+        return SettlementDto.builder()
+                .transfers(transferDtos)
+                .totalAmount(Money.ofMinor(total))
+                .build();
+    }
+}
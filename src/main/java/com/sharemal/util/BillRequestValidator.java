@@ -0,0 +1,85 @@
+package com.sharemal.util;
+
+import com.sharemal.dto.BillCreateRequest;
+import com.sharemal.enums.OperatorType;
+import com.sharemal.exception.ValidationException;
+import com.sharemal.model.Money;
+
+import java.math.BigDecimal;
+
+/**
+ * Business rules for bill amounts and creation requests that bean validation cannot express.
+ * Plain static checks with no database access, so batches and imports can validate every item
+ * without opening a transaction.
+ */
+public final class BillRequestValidator {
+    
+    /**
+     * Largest amount, in minor units, that fits the DECIMAL(10,2) amount columns
+     */
+    private static final long MAX_AMOUNT_MINOR_UNITS = 99_999_999_99L;
+    
+    private BillRequestValidator() {
+    }
+    
+    /**
+     * Validate a bill creation request: at least one person, a positive total and, for CUSTOM bills,
+     * non-negative person amounts adding up to the total
+     *
+     * @throws ValidationException if the request breaks a rule
+     */
+    public static void validateCreateRequest(BillCreateRequest request) {
+        if (request.getPersons() == null || request.getPersons().isEmpty()) {
+            throw new ValidationException("At least one person is required for bill creation");
+        }
+        
+        if (request.getTotalAmount() == null || request.getTotalAmount().signum() <= 0) {
+            throw new ValidationException("Total bill amount must be greater than zero");
+        }
+        long totalAmount = toMinorUnits(request.getTotalAmount(), "Total bill amount");
+        
+        if (request.getOperator() == OperatorType.CUSTOM) {
+            // Amounts are summed as minor units; each is bounded by the column size, so the sum cannot overflow
+            long totalCustomAmount = 0;
+            
+            for (BillCreateRequest.PersonCreateRequest personRequest : request.getPersons()) {
+                if (personRequest.getAmount() == null) {
+                    throw new ValidationException("Amount is required for person: " + personRequest.getName() +
+                            " when using CUSTOM operator");
+                }
+                
+                if (personRequest.getAmount().signum() < 0) {
+                    throw new ValidationException("Amount cannot be negative for person: " + personRequest.getName());
+                }
+                
+                totalCustomAmount += toMinorUnits(personRequest.getAmount(), "Amount for person: " + personRequest.getName());
+            }
+            
+            if (totalCustomAmount != totalAmount) {
+                throw new ValidationException(String.format(
+                    "Custom amounts validation failed: Sum of individual amounts (%s) does not equal total bill amount (%s). Please ensure all amounts add up correctly.",
+                    Money.ofMinor(totalCustomAmount),
+                    Money.ofMinor(totalAmount)
+                ));
+            }
+        }
+    }
+    
+    /**
+     * Convert a requested amount to minor units, rejecting fractions of a cent and amounts the columns cannot hold
+     *
+     * @throws ValidationException if the amount has too many decimal places or is too large
+     */
+    public static long toMinorUnits(BigDecimal amount, String description) {
+        long minorUnits;
+        try {
+            minorUnits = Money.toMinorUnits(amount);
+        } catch (ArithmeticException ex) {
+            throw new ValidationException(description + " must have at most " + Money.SCALE + " decimal places", ex);
+        }
+        if (minorUnits > MAX_AMOUNT_MINOR_UNITS) {
+            throw new ValidationException(description + " must not exceed " + Money.ofMinor(MAX_AMOUNT_MINOR_UNITS));
+        }
+        return minorUnits;
+    }
+}
@@ -0,0 +1,123 @@
+package com.sharemal.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental RFC 4180 style CSV reader.
+ * Reads one record at a time from the underlying reader, supporting quoted fields with
+ * embedded separators, escaped quotes and line breaks, so files of any size can be parsed without buffering.
+ */
+public class CsvReader implements Closeable {
+    
+    private static final int NO_CHARACTER = -2;
+    
+    private final Reader reader;
+    private int pushedBack = NO_CHARACTER;
+    private long lineNumber = 1;
+    private long recordLineNumber;
+    
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+    
+    /**
+     * Read the next record, or return null at the end of the input
+     *
+     * @throws MalformedRecordException if the input ends inside a quoted field
+     */
+    public List<String> readRecord() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        recordLineNumber = lineNumber - (c == '\n' ? 1 : 0);
+        
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new MalformedRecordException("Unterminated quoted field in record starting on line " + recordLineNumber);
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == '\n' || c == -1) {
+                fields.add(field.toString());
+                return fields;
+            } else if (c == '\r') {
+                int next = read();
+                if (next != '\n') {
+                    pushedBack = next;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+    
+    /**
+     * Line number the reader is positioned on, where the next record starts
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+    
+    /**
+     * Line number on which the most recently read record started
+     */
+    public long getRecordLineNumber() {
+        return recordLineNumber;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+    
+    private int read() throws IOException {
+        int c;
+        if (pushedBack != NO_CHARACTER) {
+            c = pushedBack;
+            pushedBack = NO_CHARACTER;
+        } else {
+            c = reader.read();
+            if (c == '\n') {
+                lineNumber++;
+            }
+        }
+        return c;
+    }
+    
+    /**
+     * A record that cannot be parsed, such as an unterminated quoted field at the end of the input
+     */
+    public static class MalformedRecordException extends IOException {
+        
+        public MalformedRecordException(String message) {
+            super(message);
+        }
+    }
+}
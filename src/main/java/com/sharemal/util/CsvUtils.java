@@ -0,0 +1,29 @@
+package com.sharemal.util;
+
+/**
+ * Helpers for writing RFC 4180 style CSV
+ */
+public final class CsvUtils {
+    
+    private CsvUtils() {
+    }
+    
+    /**
+     * Escape a value for use as a CSV field, quoting it when it contains a separator, quote or line break
+     */
+    public static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        boolean needsQuoting = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                needsQuoting = true;
+                break;
+            }
+        }
+        return needsQuoting ? '"' + text.replace("\"", "\"\"") + '"' : text;
+    }
+}
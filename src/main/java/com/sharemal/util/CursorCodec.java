@@ -0,0 +1,50 @@
+package com.sharemal.util;
+
+import com.sharemal.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes opaque pagination cursors.
+ * A cursor is a fixed number of string parts joined with a separator and Base64 URL encoded,
+ * so clients treat it as an opaque token and never build it themselves.
+ */
+public final class CursorCodec {
+    
+    private static final String SEPARATOR = "|";
+    
+    private CursorCodec() {
+    }
+    
+    /**
+     * Encode the given parts into an opaque cursor
+     */
+    public static String encode(Object... parts) {
+        StringBuilder raw = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                raw.append(SEPARATOR);
+            }
+            raw.append(parts[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Decode an opaque cursor into exactly the expected number of parts
+     */
+    public static String[] decode(String cursor, int expectedParts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != expectedParts) {
+                throw new ValidationException("Invalid cursor: " + cursor);
+            }
+            return parts;
+        } catch (IllegalArgumentException ex) {
+            throw new ValidationException("Invalid cursor: " + cursor, ex);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.sharemal.util;
+
+import com.sharemal.dto.BillCollectionStateDto;
+import com.sharemal.enums.BillView;
+import com.sharemal.exception.PreconditionFailedException;
+
+import java.time.ZoneOffset;
+
+/**
+ * Builds and parses the entity tags used for conditional bill requests.
+ * A single bill is tagged with its optimistic locking version; a bill collection with the bill count
+ * and the latest modification time, which together change on every create, update and delete.
+ */
+public final class ETags {
+    
+    private ETags() {
+    }
+    
+    /**
+     * Strong ETag for a single bill at the given version
+     */
+    public static String forVersion(Long version) {
+        return "\"" + version + "\"";
+    }
+    
+    /**
+     * Strong ETag for bill collections in the given state
+     */
+    public static String forCollection(BillCollectionStateDto state) {
+        long lastModifiedMicros = 0;
+        if (state.getLastModified() != null) {
+            lastModifiedMicros = state.getLastModified().toEpochSecond(ZoneOffset.UTC) * 1_000_000
+                    + state.getLastModified().getNano() / 1_000;
+        }
+        return "\"bills-" + state.getCount() + "-" + Long.toHexString(lastModifiedMicros) + "\"";
+    }
+    
+    /**
+     * Strong ETag for bill collections in the given state listed in the given view; each view has its own tag
+     * because the representations differ
+     */
+    public static String forCollection(BillCollectionStateDto state, BillView view) {
+        String etag = forCollection(state);
+        return view == BillView.FULL ? etag : "\"" + view.name().toLowerCase() + "-" + etag.substring(1);
+    }
+    
+    /**
+     * Parse the bill version required by an If-Match header.
+     * Returns null when there is no precondition (header absent or "*").
+     *
+     * @throws PreconditionFailedException if the header can never match a bill version (weak or foreign tag)
+     */
+    public static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // fall through: not a version tag
+            }
+        }
+        throw new PreconditionFailedException("If-Match must be a single strong bill ETag, got: " + ifMatch);
+    }
+}
@@ -0,0 +1,29 @@
+package com.sharemal.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * List helpers
+ */
+public final class Lists {
+    
+    /**
+     * Most IDs bound into one IN list; larger sets are queried in parts of this size
+     */
+    public static final int MAX_IN_LIST_SIZE = 1000;
+    
+    private Lists() {
+    }
+    
+    /**
+     * Split a list into consecutive views of at most the given size, e.g. to bound the IDs bound into one IN list
+     */
+    public static <T> List<List<T>> partition(List<T> list, int size) {
+        List<List<T>> parts = new ArrayList<>((list.size() + size - 1) / size);
+        for (int start = 0; start < list.size(); start += size) {
+            parts.add(list.subList(start, Math.min(start + size, list.size())));
+        }
+        return parts;
+    }
+}
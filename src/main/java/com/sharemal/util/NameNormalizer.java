@@ -0,0 +1,20 @@
+package com.sharemal.util;
+
+import java.util.Locale;
+
+/**
+ * Normalizes participant names so the same person is recognized across bills.
+ * Stored as the persons' name key, which queries group and match participants by.
+ */
+public final class NameNormalizer {
+    
+    private NameNormalizer() {
+    }
+    
+    /**
+     * Normalize a name: trim surrounding whitespace and lower-case it
+     */
+    public static String normalize(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,223 @@
+package com.sharemal.util;
+
+import java.util.Arrays;
+
+/**
+ * Computes a short list of transfers that settles a set of net balances.
+ * Balances are minor-unit amounts (cents): positive for participants who are owed money,
+ * negative for participants who owe. Debtors and creditors with exactly opposite balances are
+ * paired first, then the largest remaining debtor repeatedly pays the largest remaining creditor,
+ * which settles n participants in at most n - 1 transfers in O(n log n).
+ * Amounts and participant indexes are packed into single longs so sorting and both heaps work on
+ * primitive arrays.
+ */
+public final class SettlementCalculator {
+    
+    private static final int INDEX_BITS = 20;
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+    
+    /**
+     * Most participants that can be settled at once
+     */
+    public static final int MAX_PARTICIPANTS = 1 << INDEX_BITS;
+    
+    /**
+     * Largest absolute balance, in minor units, that can be settled
+     */
+    public static final long MAX_AMOUNT = (1L << (Long.SIZE - 1 - INDEX_BITS)) - 1;
+    
+    private SettlementCalculator() {
+    }
+    
+    /**
+     * Settle the given balances, which must add up to zero
+     *
+     * @throws IllegalArgumentException if the balances do not add up to zero or exceed the supported limits
+     */
+    public static Transfers settle(long[] balances) {
+        int n = balances.length;
+        if (n > MAX_PARTICIPANTS) {
+            throw new IllegalArgumentException("At most " + MAX_PARTICIPANTS + " participants can be settled");
+        }
+        
+        long[] credits = new long[n];
+        long[] debts = new long[n];
+        int creditCount = 0;
+        int debtCount = 0;
+        long sum = 0;
+        for (int i = 0; i < n; i++) {
+            long balance = balances[i];
+            if (balance > MAX_AMOUNT || balance < -MAX_AMOUNT) {
+                throw new IllegalArgumentException("Balance of participant " + i + " exceeds " + MAX_AMOUNT);
+            }
+            sum += balance;
+            if (balance > 0) {
+                credits[creditCount++] = pack(balance, i);
+            } else if (balance < 0) {
+                debts[debtCount++] = pack(-balance, i);
+            }
+        }
+        if (sum != 0) {
+            throw new IllegalArgumentException("Balances must add up to zero but add up to " + sum);
+        }
+        
+        Transfers transfers = new Transfers(Math.max(n - 1, 0));
+        
+        // Pair exactly opposite balances: sorted by amount, a two-pointer walk finds them in linear time
+        Arrays.sort(credits, 0, creditCount);
+        Arrays.sort(debts, 0, debtCount);
+        int remainingCredits = 0;
+        int remainingDebts = 0;
+        int c = 0;
+        int d = 0;
+        while (c < creditCount && d < debtCount) {
+            long creditAmount = amount(credits[c]);
+            long debtAmount = amount(debts[d]);
+            if (creditAmount == debtAmount) {
+                transfers.add(index(debts[d++]), index(credits[c++]), creditAmount);
+            } else if (creditAmount < debtAmount) {
+                credits[remainingCredits++] = credits[c++];
+            } else {
+                debts[remainingDebts++] = debts[d++];
+            }
+        }
+        while (c < creditCount) {
+            credits[remainingCredits++] = credits[c++];
+        }
+        while (d < debtCount) {
+            debts[remainingDebts++] = debts[d++];
+        }
+        
+        // Largest debtor pays largest creditor; whoever is left with a remainder goes back on its heap
+        LongMaxHeap creditHeap = new LongMaxHeap(credits, remainingCredits);
+        LongMaxHeap debtHeap = new LongMaxHeap(debts, remainingDebts);
+        while (!creditHeap.isEmpty()) {
+            long credit = creditHeap.pop();
+            long debt = debtHeap.pop();
+            long creditAmount = amount(credit);
+            long debtAmount = amount(debt);
+            long paid = Math.min(creditAmount, debtAmount);
+            transfers.add(index(debt), index(credit), paid);
+            if (creditAmount > paid) {
+                creditHeap.push(pack(creditAmount - paid, index(credit)));
+            }
+            if (debtAmount > paid) {
+                debtHeap.push(pack(debtAmount - paid, index(debt)));
+            }
+        }
+        return transfers;
+    }
+    
+    private static long pack(long amount, int index) {
+        return amount << INDEX_BITS | index;
+    }
+    
+    private static long amount(long packed) {
+        return packed >>> INDEX_BITS;
+    }
+    
+    private static int index(long packed) {
+        return (int) (packed & INDEX_MASK);
+    }
+    
+    /**
+     * Transfers as parallel arrays: participant {@code from(i)} pays {@code amount(i)} to participant {@code to(i)}
+     */
+    public static final class Transfers {
+        
+        private final int[] from;
+        private final int[] to;
+        private final long[] amounts;
+        private int size;
+        
+        private Transfers(int capacity) {
+            this.from = new int[capacity];
+            this.to = new int[capacity];
+            this.amounts = new long[capacity];
+        }
+        
+        private void add(int fromIndex, int toIndex, long amount) {
+            from[size] = fromIndex;
+            to[size] = toIndex;
+            amounts[size] = amount;
+            size++;
+        }
+        
+        public int size() {
+            return size;
+        }
+        
+        public int from(int i) {
+            return from[i];
+        }
+        
+        public int to(int i) {
+            return to[i];
+        }
+        
+        public long amount(int i) {
+            return amounts[i];
+        }
+    }
+    
+    /**
+     * Binary max-heap over a long array, taking ownership of the array
+     */
+    private static final class LongMaxHeap {
+        
+        private final long[] values;
+        private int size;
+        
+        private LongMaxHeap(long[] values, int size) {
+            this.values = values;
+            this.size = size;
+            for (int i = size / 2 - 1; i >= 0; i--) {
+                siftDown(i);
+            }
+        }
+        
+        private boolean isEmpty() {
+            return size == 0;
+        }
+        
+        private long pop() {
+            long top = values[0];
+            values[0] = values[--size];
+            siftDown(0);
+            return top;
+        }
+        
+        /**
+         * Push a value; never exceeds the initial capacity because every push follows a pop
+         */
+        private void push(long value) {
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (values[parent] >= value) {
+                    break;
+                }
+                values[i] = values[parent];
+                i = parent;
+            }
+            values[i] = value;
+        }
+        
+        private void siftDown(int i) {
+            long value = values[i];
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && values[child + 1] > values[child]) {
+                    child++;
+                }
+                if (value >= values[child]) {
+                    break;
+                }
+                values[i] = values[child];
+                i = child;
+            }
+            values[i] = value;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+-- Initial schema: bills, their persons and tombstones of deleted bills (H2)
+
+-- IDs are handed out in blocks of 50 (pooled optimizer, see BaseEntity)
+create sequence bills_seq start with 1 increment by 50;
+create sequence persons_seq start with 1 increment by 50;
+
+create table bills (
+    id bigint not null,
+    title varchar(255) not null,
+    total_amount numeric(10,2) not null,
+    operator varchar(255) not null check (operator in ('EQUALLY','CUSTOM')),
+    bill_date date not null,
+    status varchar(255) not null check (status in ('INCOMPLETE','COMPLETE','PAID')),
+    person_count integer not null,
+    paid_count integer not null,
+    paid_amount numeric(10,2) not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6),
+    version bigint,
+    primary key (id)
+);
+
+create table persons (
+    id bigint not null,
+    bill_id bigint not null,
+    name varchar(255) not null,
+    name_key varchar(100) not null,
+    amount numeric(10,2) not null,
+    payment_status varchar(255) not null check (payment_status in ('PAID','UNPAID')),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6),
+    version bigint,
+    primary key (id),
+    constraint fk_persons_bill foreign key (bill_id) references bills (id)
+);
+
+create table bill_tombstones (
+    bill_id bigint not null,
+    deleted_at timestamp(6) not null,
+    primary key (bill_id)
+);
+
+-- Keyset pages by bill date, the combined query (status filter, date or amount order) and the change feed
+create index idx_bills_bill_date_id on bills (bill_date, id);
+create index idx_bills_status_bill_date_id on bills (status, bill_date, id);
+create index idx_bills_total_amount_id on bills (total_amount, id);
+create index idx_bills_updated_at_id on bills (updated_at, id);
+
+-- Persons of a bill, outstanding balances (covering) and the participant filter
+create index idx_persons_bill_id on persons (bill_id);
+create index idx_persons_status_name_key on persons (payment_status, name_key, amount, bill_id);
+create index idx_persons_name_key_bill_id on persons (name_key, bill_id);
+
+create index idx_bill_tombstones_deleted_at_bill_id on bill_tombstones (deleted_at, bill_id);
@@ -0,0 +1,32 @@
+-- Change log for the bill change feed, replacing the tombstones (H2)
+
+-- Latest change of every bill, numbered in commit order; deleted bills keep their row
+create table bill_changes (
+    bill_id bigint not null,
+    change_seq bigint not null,
+    deleted boolean not null,
+    primary key (bill_id)
+);
+
+-- Single row handing out change numbers; held locked by a committing transaction until it commits
+create table bill_change_counter (
+    id bigint not null,
+    last_seq bigint not null,
+    primary key (id)
+);
+
+-- Carry over existing bills and deletions in the order they changed
+insert into bill_changes (bill_id, change_seq, deleted)
+select bill_id, row_number() over (order by changed_at, bill_id), deleted
+from (
+    select id as bill_id, coalesce(updated_at, created_at) as changed_at, false as deleted from bills
+    union all
+    select bill_id, deleted_at, true from bill_tombstones
+) changes;
+
+insert into bill_change_counter (id, last_seq)
+select 1, count(*) from bill_changes;
+
+create unique index idx_bill_changes_change_seq on bill_changes (change_seq);
+
+drop table bill_tombstones;
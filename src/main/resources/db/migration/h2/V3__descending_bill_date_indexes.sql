@@ -0,0 +1,11 @@
+-- Newest-first bill pages read the bill date indexes in their own order (H2)
+
+-- H2 cannot scan an index backwards, so ORDER BY bill_date DESC, id DESC needs descending keys to avoid a sort
+drop index idx_bills_bill_date_id;
+create index idx_bills_bill_date_id on bills (bill_date desc, id desc);
+drop index idx_bills_status_bill_date_id;
+create index idx_bills_status_bill_date_id on bills (status, bill_date desc, id desc);
+
+-- The inline foreign key got its own index next to idx_persons_bill_id; added again, it reuses idx_persons_bill_id
+alter table persons drop constraint fk_persons_bill;
+alter table persons add constraint fk_persons_bill foreign key (bill_id) references bills (id);
@@ -0,0 +1,62 @@
+-- Initial schema: bills, their persons and tombstones of deleted bills (MySQL)
+
+-- MySQL has no sequences; Hibernate emulates them with one-row tables and hands out IDs in blocks of 50
+create table bills_seq (
+    next_val bigint
+) engine=InnoDB;
+insert into bills_seq values (1);
+
+create table persons_seq (
+    next_val bigint
+) engine=InnoDB;
+insert into persons_seq values (1);
+
+create table bills (
+    id bigint not null,
+    title varchar(255) not null,
+    total_amount decimal(10,2) not null,
+    operator enum ('EQUALLY','CUSTOM') not null,
+    bill_date date not null,
+    status enum ('INCOMPLETE','COMPLETE','PAID') not null,
+    person_count integer not null,
+    paid_count integer not null,
+    paid_amount decimal(10,2) not null,
+    created_at datetime(6) not null,
+    updated_at datetime(6),
+    version bigint,
+    primary key (id)
+) engine=InnoDB;
+
+create table persons (
+    id bigint not null,
+    bill_id bigint not null,
+    name varchar(255) not null,
+    name_key varchar(100) not null,
+    amount decimal(10,2) not null,
+    payment_status enum ('PAID','UNPAID') not null,
+    created_at datetime(6) not null,
+    updated_at datetime(6),
+    version bigint,
+    primary key (id)
+) engine=InnoDB;
+
+create table bill_tombstones (
+    bill_id bigint not null,
+    deleted_at datetime(6) not null,
+    primary key (bill_id)
+) engine=InnoDB;
+
+-- Keyset pages by bill date, the combined query (status filter, date or amount order) and the change feed
+create index idx_bills_bill_date_id on bills (bill_date, id);
+create index idx_bills_status_bill_date_id on bills (status, bill_date, id);
+create index idx_bills_total_amount_id on bills (total_amount, id);
+create index idx_bills_updated_at_id on bills (updated_at, id);
+
+-- Persons of a bill (also backs the foreign key), outstanding balances (covering) and the participant filter
+create index idx_persons_bill_id on persons (bill_id);
+create index idx_persons_status_name_key on persons (payment_status, name_key, amount, bill_id);
+create index idx_persons_name_key_bill_id on persons (name_key, bill_id);
+
+create index idx_bill_tombstones_deleted_at_bill_id on bill_tombstones (deleted_at, bill_id);
+
+alter table persons add constraint fk_persons_bill foreign key (bill_id) references bills (id);
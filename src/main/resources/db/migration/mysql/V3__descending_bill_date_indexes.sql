@@ -0,0 +1,8 @@
+-- Newest-first bill pages read the bill date indexes in their own order (MySQL)
+
+-- Descending keys turn the default ORDER BY bill_date DESC, id DESC into a forward index scan
+alter table bills
+    drop index idx_bills_bill_date_id,
+    add index idx_bills_bill_date_id (bill_date desc, id desc),
+    drop index idx_bills_status_bill_date_id,
+    add index idx_bills_status_bill_date_id (status, bill_date desc, id desc);
@@ -0,0 +1,116 @@
+package com.sharemal.benchmark;
+
+import com.sharemal.ShalmalV2Application;
+import com.sharemal.dto.BillDto;
+import com.sharemal.service.BillService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of the reads behind {@code GET /api/v1/bills/{id}} with the Hibernate second-level cache
+ * switched on and off, against the same seeded H2 database. Requests cycle through all seeded bills, which
+ * fit the cache regions, so after warmup every read is a cache hit when the cache is on.
+ * Run with {@code mvn -Pbenchmarks test-compile exec:exec -Dbenchmark=BillByIdBenchmark -Djmh.args="-f 1"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BillByIdBenchmark {
+
+    private static final int BILLS = 1000;
+    private static final int PERSONS_PER_BILL = 4;
+    private static final String[] NAMES = {"Alice", "Bob", "Carol", "Dave", "Erin", "Frank", "Grace", "Heidi"};
+
+    @Param({"true", "false"})
+    private boolean secondLevelCache;
+
+    private ConfigurableApplicationContext context;
+    private BillService billService;
+    private long requests;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(ShalmalV2Application.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:billbyid;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache,
+                        "spring.jpa.show-sql=false",
+                        "spring.main.banner-mode=off",
+                        // DevTools would run SHUTDOWN on the in-memory database when the context closes and log its failure
+                        "spring.autoconfigure.exclude=org.springframework.boot.devtools.autoconfigure.DevToolsDataSourceAutoConfiguration",
+                        "logging.level.root=WARN",
+                        "logging.level.org.springframework.web=WARN")
+                .run();
+        billService = context.getBean(BillService.class);
+        insertRows(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * A request the serialized response cache cannot answer: the version for the ETag, then the bill with its persons
+     */
+    @Benchmark
+    public BillDto getBill() {
+        long id = nextId();
+        billService.getBillVersion(id);
+        return billService.getBillById(id);
+    }
+
+    /**
+     * A request answered with 304, or from the serialized response cache: only the version is read
+     */
+    @Benchmark
+    public Long getBillVersion() {
+        return billService.getBillVersion(nextId());
+    }
+
+    private long nextId() {
+        return requests++ % BILLS + 1;
+    }
+
+    private static void insertRows(JdbcTemplate jdbcTemplate) {
+        LocalDateTime now = LocalDateTime.of(2024, 6, 1, 12, 0);
+        LocalDate firstBillDate = LocalDate.of(2024, 1, 1);
+        List<Object[]> billRows = new ArrayList<>(BILLS);
+        List<Object[]> personRows = new ArrayList<>(BILLS * PERSONS_PER_BILL);
+        for (long id = 1; id <= BILLS; id++) {
+            billRows.add(new Object[]{id, "Bill " + id, BigDecimal.valueOf(PERSONS_PER_BILL * 25L, 0).setScale(2),
+                    Date.valueOf(firstBillDate.plusDays(id % 365)), now});
+            for (int i = 0; i < PERSONS_PER_BILL; i++) {
+                String name = NAMES[(int) ((id + i) % NAMES.length)];
+                personRows.add(new Object[]{id * PERSONS_PER_BILL + i, id, name, name.toLowerCase(), now});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bills (id, title, total_amount, operator, bill_date, status, person_count, "
+                + "paid_count, paid_amount, created_at, version) VALUES (?, ?, ?, 'EQUALLY', ?, 'INCOMPLETE', "
+                + PERSONS_PER_BILL + ", 0, 0, ?, 0)", billRows);
+        jdbcTemplate.batchUpdate("INSERT INTO persons (id, bill_id, name, name_key, amount, payment_status, created_at, "
+                + "version) VALUES (?, ?, ?, ?, 25.00, 'UNPAID', ?, 0)", personRows);
+    }
+}
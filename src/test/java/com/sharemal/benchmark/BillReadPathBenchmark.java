@@ -0,0 +1,172 @@
+package com.sharemal.benchmark;
+
+import com.sharemal.ShalmalV2Application;
+import com.sharemal.dto.BillDto;
+import com.sharemal.dto.BillPageDto;
+import com.sharemal.dto.PersonDto;
+import com.sharemal.model.Bill;
+import com.sharemal.model.Person;
+import com.sharemal.service.BillService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of the bill list reads: the DTO projections the service uses against the entity loading
+ * and conversion they replaced, both in a read-only transaction against the same seeded H2 database.
+ * Run with {@code mvn -Pbenchmarks test-compile exec:exec -Dbenchmark=BillReadPathBenchmark -Djmh.args="-f 1 -prof gc"}
+ * to get the allocation per request ({@code gc.alloc.rate.norm}) next to the latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BillReadPathBenchmark {
+
+    private static final int BILLS = 2000;
+    private static final int PERSONS_PER_BILL = 4;
+    private static final int PERSON_FETCH_CHUNK_SIZE = 1000;
+    private static final String[] NAMES = {"Alice", "Bob", "Carol", "Dave", "Erin", "Frank", "Grace", "Heidi"};
+
+    /**
+     * Bills per request: a page of the default size, a full page, and the whole unpaged list
+     */
+    @Param({"20", "100", "2000"})
+    private int bills;
+
+    private ConfigurableApplicationContext context;
+    private BillService billService;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(ShalmalV2Application.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:readpaths;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.jpa.show-sql=false",
+                        "spring.main.banner-mode=off",
+                        // DevTools would run SHUTDOWN on the in-memory database when the context closes and log its failure
+                        "spring.autoconfigure.exclude=org.springframework.boot.devtools.autoconfigure.DevToolsDataSourceAutoConfiguration",
+                        "logging.level.root=WARN",
+                        "logging.level.org.springframework.web=WARN")
+                .run();
+        billService = context.getBean(BillService.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        insertRows(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BillDto> projected() {
+        if (bills > BillService.MAX_PAGE_SIZE) {
+            return billService.getAllBills();
+        }
+        BillPageDto page = billService.getBillsPage(null, bills);
+        return page.getBills();
+    }
+
+    /**
+     * The same read through managed entities: bills, then their persons with one IN query per chunk, converted to DTOs
+     */
+    @Benchmark
+    public List<BillDto> entities() {
+        return readOnlyTransaction.execute(status -> {
+            List<Bill> page = entityManager
+                    .createQuery("SELECT b FROM Bill b ORDER BY b.billDate DESC, b.id DESC", Bill.class)
+                    .setMaxResults(bills)
+                    .getResultList();
+            List<Long> billIds = page.stream().map(Bill::getId).toList();
+            Map<Long, List<Person>> personsByBillId = new HashMap<>();
+            for (int from = 0; from < billIds.size(); from += PERSON_FETCH_CHUNK_SIZE) {
+                List<Long> chunk = billIds.subList(from, Math.min(from + PERSON_FETCH_CHUNK_SIZE, billIds.size()));
+                for (Person person : entityManager
+                        .createQuery("SELECT p FROM Person p WHERE p.bill.id IN :billIds", Person.class)
+                        .setParameter("billIds", chunk)
+                        .getResultList()) {
+                    personsByBillId.computeIfAbsent(person.getBill().getId(), key -> new ArrayList<>()).add(person);
+                }
+            }
+            return page.stream()
+                    .map(bill -> convertToDto(bill, personsByBillId.getOrDefault(bill.getId(), List.of())))
+                    .toList();
+        });
+    }
+
+    private static BillDto convertToDto(Bill bill, List<Person> persons) {
+        List<PersonDto> personDtos = persons.stream()
+                .map(person -> PersonDto.builder()
+                        .id(person.getId())
+                        .name(person.getName())
+                        .amount(person.getAmount())
+                        .paymentStatus(person.getPaymentStatus())
+                        .billId(person.getBill().getId())
+                        .build())
+                .toList();
+        return BillDto.builder()
+                .id(bill.getId())
+                .title(bill.getTitle())
+                .totalAmount(bill.getTotalAmount())
+                .operator(bill.getOperator())
+                .billDate(bill.getBillDate())
+                .status(bill.getStatus())
+                .persons(personDtos)
+                .createdAt(bill.getCreatedAt())
+                .updatedAt(bill.getUpdatedAt())
+                .version(bill.getVersion())
+                .build();
+    }
+
+    private static void insertRows(JdbcTemplate jdbcTemplate) {
+        LocalDateTime now = LocalDateTime.of(2024, 6, 1, 12, 0);
+        LocalDate firstBillDate = LocalDate.of(2024, 1, 1);
+        List<Object[]> billRows = new ArrayList<>(BILLS);
+        List<Object[]> personRows = new ArrayList<>(BILLS * PERSONS_PER_BILL);
+        for (long id = 1; id <= BILLS; id++) {
+            billRows.add(new Object[]{id, "Bill " + id, BigDecimal.valueOf(PERSONS_PER_BILL * 25L, 0).setScale(2),
+                    Date.valueOf(firstBillDate.plusDays(id % 365)), now});
+            for (int i = 0; i < PERSONS_PER_BILL; i++) {
+                String name = NAMES[(int) ((id + i) % NAMES.length)];
+                personRows.add(new Object[]{id * PERSONS_PER_BILL + i, id, name, name.toLowerCase(), now});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bills (id, title, total_amount, operator, bill_date, status, person_count, "
+                + "paid_count, paid_amount, created_at, version) VALUES (?, ?, ?, 'EQUALLY', ?, 'INCOMPLETE', "
+                + PERSONS_PER_BILL + ", 0, 0, ?, 0)", billRows);
+        jdbcTemplate.batchUpdate("INSERT INTO persons (id, bill_id, name, name_key, amount, payment_status, created_at, "
+                + "version) VALUES (?, ?, ?, ?, 25.00, 'UNPAID', ?, 0)", personRows);
+    }
+}
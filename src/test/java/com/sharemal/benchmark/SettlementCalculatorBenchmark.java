@@ -0,0 +1,58 @@
+package com.sharemal.benchmark;
+
+import com.sharemal.util.SettlementCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Settling groups of increasing size, from a dinner table to the participant limit.
+ * Run with {@code mvn -Pbenchmarks test-compile exec:exec -Dbenchmark=SettlementCalculatorBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SettlementCalculatorBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    private int participants;
+
+    /**
+     * Share of participants whose balance is exactly opposite to another's, settled by the pairing pass
+     */
+    @Param({"0", "50"})
+    private int pairedPercent;
+
+    private long[] balances;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        balances = new long[participants];
+        int paired = participants * pairedPercent / 100 / 2 * 2;
+        for (int i = 0; i < paired; i += 2) {
+            long amount = random.nextLong(1, 100_001);
+            balances[i] = amount;
+            balances[i + 1] = -amount;
+        }
+        long sum = 0;
+        for (int i = paired; i < participants - 1; i++) {
+            balances[i] = random.nextLong(-100_000, 100_001);
+            sum += balances[i];
+        }
+        balances[participants - 1] -= sum;
+    }
+
+    @Benchmark
+    public SettlementCalculator.Transfers settle() {
+        return SettlementCalculator.settle(balances);
+    }
+}
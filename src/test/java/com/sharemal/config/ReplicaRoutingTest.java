@@ -0,0 +1,118 @@
+package com.sharemal.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Routing with the {@code replicas} profile, whose replica is a separate H2 database that nothing replicates
+ * into: a bill written to the primary is only visible to reads routed to the primary.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("replicas")
+class ReplicaRoutingTest {
+
+    private static final long BILL_ID = 1_000_000L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM bills WHERE id = ?", BILL_ID);
+    }
+
+    @Test
+    void should_readFromTheReplica_when_theTransactionIsReadOnly() {
+        // Given
+        insertBill();
+
+        // When
+        int readOnlyCount = countBills(true);
+
+        // Then
+        assertThat(readOnlyCount).isZero();
+    }
+
+    @Test
+    void should_writeAndReadOnThePrimary_when_theTransactionIsReadWrite() {
+        // Given
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        // When
+        readWrite.executeWithoutResult(status -> insertBill());
+
+        // Then
+        assertThat(countBills(false)).isEqualTo(1);
+        assertThat(countBills(true)).isZero();
+    }
+
+    @Test
+    void should_readFromThePrimary_when_theClientCarriesTheReadYourWritesCookie() throws Exception {
+        // Given
+        insertBill();
+        Cookie pinned = new Cookie(ReadYourWritesFilter.COOKIE_NAME, String.valueOf(System.currentTimeMillis() + 60_000));
+
+        // When / Then
+        mockMvc.perform(get("/api/v1/bills/{id}", BILL_ID))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/bills/{id}", BILL_ID).cookie(pinned))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DirtiesContext
+    void should_readFromThePrimary_when_theReplicaFailsItsHealthCheck() {
+        // Given
+        insertBill();
+        HikariDataSource replica = (HikariDataSource) replicaRoutingDataSource.getResolvedDataSources().get("replica-1");
+        replica.close();
+
+        // When
+        replicaRoutingDataSource.checkReplicas();
+
+        // Then
+        assertThat(replicaRoutingDataSource.getHealthyReplicaCount()).isZero();
+        assertThat(countBills(true)).isEqualTo(1);
+    }
+
+    private void insertBill() {
+        jdbcTemplate.update("INSERT INTO bills (id, title, total_amount, operator, bill_date, status, person_count, "
+                + "paid_count, paid_amount, created_at, version) VALUES (?, 'Dinner', 30.00, 'EQUALLY', ?, 'INCOMPLETE', "
+                + "0, 0, 0, ?, 0)", BILL_ID, LocalDate.of(2024, 1, 1), LocalDateTime.of(2024, 1, 1, 12, 0));
+    }
+
+    private int countBills(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status ->
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bills WHERE id = ?", Integer.class, BILL_ID));
+    }
+}
@@ -0,0 +1,37 @@
+package com.sharemal.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the SQL Hibernate generates so tests can inspect its execution plan
+ */
+public class CapturingStatementInspector implements StatementInspector {
+    
+    private static final List<String> STATEMENTS = new ArrayList<>();
+    
+    @Override
+    public synchronized String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+    
+    public static synchronized void clear() {
+        STATEMENTS.clear();
+    }
+    
+    /**
+     * The only SELECT issued since the last {@link #clear()}
+     */
+    public static synchronized String singleSelect() {
+        List<String> selects = STATEMENTS.stream()
+                .filter(sql -> sql.stripLeading().regionMatches(true, 0, "select", 0, 6))
+                .toList();
+        if (selects.size() != 1) {
+            throw new IllegalStateException("Expected one SELECT but got " + selects);
+        }
+        return selects.get(0);
+    }
+}
@@ -0,0 +1,227 @@
+package com.sharemal.repository;
+
+import com.sharemal.dto.BillQueryCriteria;
+import com.sharemal.enums.BillSortOrder;
+import com.sharemal.enums.BillStatus;
+import com.sharemal.enums.PaymentStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Execution plans of the hot bill and person queries, taken with EXPLAIN on H2 in MySQL mode against the
+ * Flyway schema. Each query must be answered through its named index; a full table scan fails the test.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:queryplans;MODE=MySQL",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.sharemal.repository.CapturingStatementInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QueryPlanTest {
+
+    private static final int BILLS = 2000;
+    private static final String[] NAMES = {"alice", "bob", "carol", "dave", "erin", "frank", "grace", "heidi",
+            "ivan", "judy", "mallory", "niaj", "olivia", "peggy", "rupert", "sybil", "trent", "victor", "walter", "zoe"};
+    private static final LocalDate FIRST_BILL_DATE = LocalDate.of(2024, 1, 1);
+    private static final PageRequest PAGE = PageRequest.of(0, 20);
+
+    @Autowired
+    private BillRepository billRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private BillChangeRepository billChangeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bills", Long.class) == 0) {
+            insertRows();
+            jdbcTemplate.execute("ANALYZE");
+        }
+        CapturingStatementInspector.clear();
+    }
+
+    @Test
+    void should_readTheBillDateIndexInOrder_when_loadingTheFirstPage() {
+        // When
+        billRepository.findFirstPage(PAGE);
+
+        // Then
+        assertUsesIndex(explain(0, 20), "IDX_BILLS_BILL_DATE_ID");
+    }
+
+    @Test
+    void should_seekTheBillDateIndex_when_loadingThePageAfterACursor() {
+        // Given
+        LocalDate billDate = FIRST_BILL_DATE.plusDays(100);
+
+        // When
+        billRepository.findPageAfter(billDate, 1000L, PAGE);
+
+        // Then
+        assertUsesIndex(explain(billDate, billDate, 1000L, 0, 20), "IDX_BILLS_BILL_DATE_ID");
+    }
+
+    @Test
+    void should_seekTheBillDateIndex_when_loadingTheSummaryPageAfterACursor() {
+        // Given
+        LocalDate billDate = FIRST_BILL_DATE.plusDays(100);
+
+        // When
+        billRepository.findSummaryPageAfter(billDate, 1000L, PAGE);
+
+        // Then
+        assertUsesIndex(explain(billDate, billDate, 1000L, 0, 20), "IDX_BILLS_BILL_DATE_ID");
+    }
+
+    @Test
+    void should_useTheStatusIndex_when_queryingByStatus() {
+        // When
+        billRepository.queryDtos(BillQueryCriteria.builder()
+                .status(BillStatus.COMPLETE)
+                .sort(BillSortOrder.BILL_DATE_DESC)
+                .limit(20)
+                .build());
+
+        // Then
+        assertUsesIndex(explain(BillStatus.COMPLETE.name(), 20), "IDX_BILLS_STATUS_BILL_DATE_ID");
+    }
+
+    @Test
+    void should_useTheAmountIndex_when_queryingByMinimumAmount() {
+        // Given
+        BigDecimal minAmount = new BigDecimal("500.00");
+
+        // When
+        billRepository.queryDtos(BillQueryCriteria.builder()
+                .minAmount(minAmount)
+                .sort(BillSortOrder.TOTAL_AMOUNT_ASC)
+                .limit(20)
+                .build());
+
+        // Then
+        assertUsesIndex(explain(minAmount, 20), "IDX_BILLS_TOTAL_AMOUNT_ID");
+    }
+
+    @Test
+    void should_useTheNameKeyIndex_when_queryingByParticipant() {
+        // When
+        billRepository.queryDtos(BillQueryCriteria.builder()
+                .participant("Alice")
+                .sort(BillSortOrder.BILL_DATE_DESC)
+                .limit(20)
+                .build());
+
+        // Then
+        assertUsesIndex(explain("alice", 20), "IDX_PERSONS_NAME_KEY_BILL_ID");
+    }
+
+    @Test
+    void should_useTheBillIdIndex_when_loadingThePersonsOfBills() {
+        // When
+        personRepository.findDtosByBillIdIn(List.of(1L, 2L, 3L));
+
+        // Then
+        assertUsesIndex(explain(1L, 2L, 3L), "IDX_PERSONS_BILL_ID");
+    }
+
+    @Test
+    void should_useTheCoveringStatusIndex_when_aggregatingBalances() {
+        // When
+        personRepository.findBalances(PaymentStatus.UNPAID);
+
+        // Then
+        assertUsesIndex(explain(PaymentStatus.UNPAID.name()), "IDX_PERSONS_STATUS_NAME_KEY");
+    }
+
+    @Test
+    void should_readGroupsOffTheNameKeyIndex_when_countingNames() {
+        // When
+        personRepository.findNameCounts();
+
+        // Then
+        String plan = explain();
+        assertUsesIndex(plan, "IDX_PERSONS_NAME_KEY_BILL_ID");
+        // Groups are read off the index in order rather than collected in a hash table
+        assertThat(plan).containsIgnoringCase("group sorted");
+    }
+
+    @Test
+    void should_useTheStatusIndex_when_loadingTheUnpaidSharesOfAParticipant() {
+        // When
+        personRepository.findUnpaidSharesByNameKey("alice");
+
+        // Then
+        assertUsesIndex(explain("alice"), "IDX_PERSONS_STATUS_NAME_KEY");
+    }
+
+    @Test
+    void should_seekTheChangeSequenceIndex_when_readingTheChangeFeed() {
+        // When
+        billChangeRepository.findChangesAfter(1000L, PAGE);
+
+        // Then
+        assertUsesIndex(explain(1000L, 0, 20), "IDX_BILL_CHANGES_CHANGE_SEQ");
+    }
+
+    /**
+     * EXPLAIN the SELECT captured since the last clear, binding the given parameters in order
+     * (a Pageable adds the offset and the limit last)
+     */
+    private String explain(Object... parameters) {
+        String sql = CapturingStatementInspector.singleSelect();
+        Object[] values = new Object[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            values[i] = parameters[i] instanceof LocalDate date ? Date.valueOf(date) : parameters[i];
+        }
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, values);
+    }
+
+    private static void assertUsesIndex(String plan, String index) {
+        assertThat(plan).as("plan").containsIgnoringCase("PUBLIC." + index).doesNotContainIgnoringCase("tableScan");
+    }
+
+    private void insertRows() {
+        LocalDateTime now = LocalDateTime.of(2024, 6, 1, 12, 0);
+        List<Object[]> bills = new ArrayList<>(BILLS);
+        List<Object[]> persons = new ArrayList<>(BILLS * 3);
+        List<Object[]> changes = new ArrayList<>(BILLS);
+        for (long id = 1; id <= BILLS; id++) {
+            int paid = (int) (id % 4);
+            boolean complete = paid == 3;
+            bills.add(new Object[]{id, "Bill " + id, BigDecimal.valueOf(id % 1000 + 1, 0).setScale(2),
+                    Date.valueOf(FIRST_BILL_DATE.plusDays(id % 365)), complete ? "COMPLETE" : "INCOMPLETE", paid, now});
+            for (int i = 0; i < 3; i++) {
+                String name = NAMES[(int) ((id + i * 7) % NAMES.length)];
+                persons.add(new Object[]{id * 3 + i, id, name, name, i < paid ? "PAID" : "UNPAID", now});
+            }
+            changes.add(new Object[]{id, id});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bills (id, title, total_amount, operator, bill_date, status, person_count, "
+                + "paid_count, paid_amount, created_at, version) VALUES (?, ?, ?, 'EQUALLY', ?, ?, 3, ?, 0, ?, 0)", bills);
+        jdbcTemplate.batchUpdate("INSERT INTO persons (id, bill_id, name, name_key, amount, payment_status, created_at, version) "
+                + "VALUES (?, ?, ?, ?, 1.00, ?, ?, 0)", persons);
+        jdbcTemplate.batchUpdate("INSERT INTO bill_changes (bill_id, change_seq, deleted) VALUES (?, ?, false)", changes);
+    }
+}
@@ -0,0 +1,108 @@
+package com.sharemal.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sharemal.dto.BillBatchResultDto;
+import com.sharemal.dto.BillCreateRequest;
+import com.sharemal.dto.BillImportResultDto;
+import com.sharemal.enums.ExportFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Imports that end in a malformed record or a failing stream keep the bills read before the failure
+ */
+class BillImportServiceTest {
+
+    private static final String CSV_HEADER = "bill_id,title,total_amount,operator,bill_date,person_name\n";
+
+    private final List<String> persistedTitles = new ArrayList<>();
+    private BillImportService billImportService;
+
+    @BeforeEach
+    void setUp() {
+        BillBatchService billBatchService = mock(BillBatchService.class);
+        when(billBatchService.validate(any())).thenReturn(null);
+        when(billBatchService.persist(anyList())).thenAnswer(invocation -> {
+            List<BillCreateRequest> requests = invocation.getArgument(0);
+            requests.forEach(request -> persistedTitles.add(request.getTitle()));
+            return IntStream.range(0, requests.size())
+                    .mapToObj(index -> BillBatchResultDto.ItemResult.builder()
+                            .index(index)
+                            .status(BillBatchResultDto.ItemStatus.CREATED)
+                            .build())
+                    .toList();
+        });
+        billImportService = new BillImportService(billBatchService, new ObjectMapper().registerModule(new JavaTimeModule()), 2);
+    }
+
+    @Test
+    void should_keepTheBillsBeforeIt_when_theTrailingCsvRecordIsUnterminated() {
+        // Given
+        String csv = CSV_HEADER
+                + "1,Dinner,30.00,EQUALLY,2024-01-01,Alice\n"
+                + "1,Dinner,30.00,EQUALLY,2024-01-01,Bob\n"
+                + "2,Lunch,20.00,EQUALLY,2024-01-02,Carol\n"
+                + "3,Taxi,10.00,EQUALLY,2024-01-03,Dave\n"
+                + "3,Taxi,10.00,EQUALLY,2024-01-03,\"Erin";
+
+        // When
+        BillImportResultDto result = billImportService.importBills(ExportFormat.CSV, stream(csv));
+
+        // Then
+        assertThat(persistedTitles).containsExactly("Dinner", "Lunch");
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getRejected()).isEqualTo(2);
+        assertThat(result.getRejections()).extracting(BillImportResultDto.RejectedRecord::getLine)
+                .containsExactly(5L, 6L);
+    }
+
+    @Test
+    void should_keepTheBillsReadBeforeIt_when_theNdjsonStreamFails() {
+        // Given
+        String lines = ndjson("Dinner") + ndjson("Lunch") + ndjson("Taxi");
+        InputStream failing = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        };
+
+        // When
+        BillImportResultDto result = billImportService.importBills(ExportFormat.NDJSON,
+                new SequenceInputStream(stream(lines), failing));
+
+        // Then
+        assertThat(persistedTitles).containsExactly("Dinner", "Lunch", "Taxi");
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getRejected()).isEqualTo(1);
+        assertThat(result.getRejections()).singleElement().satisfies(rejection -> {
+            assertThat(rejection.getLine()).isEqualTo(4);
+            assertThat(rejection.getReason()).contains("Connection reset");
+        });
+    }
+
+    private static String ndjson(String title) {
+        return "{\"title\":\"" + title + "\",\"totalAmount\":10.00,\"operator\":\"EQUALLY\",\"billDate\":\"2024-01-01\","
+                + "\"persons\":[{\"name\":\"Alice\"}]}\n";
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
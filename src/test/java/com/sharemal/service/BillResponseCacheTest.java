@@ -0,0 +1,69 @@
+package com.sharemal.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sharemal.dto.BillDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The serialized bill is handed out together with the version it was serialized from, so a response tagged
+ * with that version always matches its body
+ */
+class BillResponseCacheTest {
+
+    private BillService billService;
+    private BillResponseCache billResponseCache;
+
+    @BeforeEach
+    void setUp() {
+        billService = mock(BillService.class);
+        billResponseCache = new BillResponseCache(billService, new ObjectMapper().registerModule(new JavaTimeModule()),
+                new SimpleMeterRegistry(), 10);
+    }
+
+    @Test
+    void should_returnTheVersionOfTheLoadedBill_when_theBillChangedAfterItsVersionWasRead() {
+        // Given
+        when(billService.getBillById(1L)).thenReturn(bill("Late dinner", 4L));
+
+        // When
+        BillResponseCache.SerializedBill serialized = billResponseCache.getBill(1L, 3L);
+
+        // Then
+        assertThat(serialized.version()).isEqualTo(4L);
+        assertThat(serialized.json().rawValue().toString()).contains("\"version\":4");
+    }
+
+    @Test
+    void should_serveTheCachedJson_when_itsVersionIsCurrent() {
+        // Given
+        when(billService.getBillById(1L)).thenReturn(bill("Dinner", 3L));
+        BillResponseCache.SerializedBill first = billResponseCache.getBill(1L, 3L);
+
+        // When
+        BillResponseCache.SerializedBill second = billResponseCache.getBill(1L, 3L);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        verify(billService, times(1)).getBillById(1L);
+    }
+
+    private static BillDto bill(String title, Long version) {
+        return BillDto.builder()
+                .id(1L)
+                .title(title)
+                .persons(List.of())
+                .version(version)
+                .build();
+    }
+}
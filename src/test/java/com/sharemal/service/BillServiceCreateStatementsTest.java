@@ -0,0 +1,94 @@
+package com.sharemal.service;
+
+import com.sharemal.dto.BillCreateRequest;
+import com.sharemal.dto.BillDto;
+import com.sharemal.enums.OperatorType;
+import com.sharemal.model.Person;
+import com.sharemal.repository.BillRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statements issued when creating a bill, counted through Hibernate {@link Statistics}: the persons of a bill
+ * go out as one JDBC batch rather than one INSERT each.
+ */
+@DataJpaTest
+@Import(BillService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BillServiceCreateStatementsTest {
+
+    private static final int PERSONS = 30;
+
+    @Autowired
+    private BillService billService;
+
+    @Autowired
+    private BillRepository billRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private BillTitleIndex billTitleIndex;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // The pooled optimizer takes only ID 1 from a fresh sequence; a bill with two persons moves the person
+        // sequence on to its first full block of 50, so the bill under test needs a sequence call for its own ID only
+        billService.createBill(request(2));
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        billRepository.deleteAll();
+    }
+
+    @Test
+    void should_insertThePersonsInOneBatch_when_creatingABillWithThirtyPersons() {
+        // Given
+        BillCreateRequest request = request(PERSONS);
+
+        // When
+        BillDto created = billService.createBill(request);
+
+        // Then
+        // The sequence call for the bill ID, the bill INSERT and one batched person INSERT
+        assertThat(created.getPersons()).hasSize(PERSONS);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1 + PERSONS);
+        assertThat(statistics.getEntityStatistics(Person.class.getName()).getInsertCount()).isEqualTo(PERSONS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    private static BillCreateRequest request(int persons) {
+        return BillCreateRequest.builder()
+                .title("Team dinner")
+                .totalAmount(BigDecimal.valueOf(persons * 10L))
+                .operator(OperatorType.EQUALLY)
+                .billDate(LocalDate.of(2024, 1, 1))
+                .persons(IntStream.rangeClosed(1, persons)
+                        .mapToObj(i -> BillCreateRequest.PersonCreateRequest.builder().name("Person " + i).build())
+                        .toList())
+                .build();
+    }
+}
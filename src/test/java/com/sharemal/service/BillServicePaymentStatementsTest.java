@@ -0,0 +1,206 @@
+package com.sharemal.service;
+
+import com.sharemal.dto.BillDto;
+import com.sharemal.dto.BillUpdateRequest;
+import com.sharemal.dto.PersonDto;
+import com.sharemal.enums.BillStatus;
+import com.sharemal.enums.OperatorType;
+import com.sharemal.enums.PaymentStatus;
+import com.sharemal.exception.PreconditionFailedException;
+import com.sharemal.exception.ResourceNotFoundException;
+import com.sharemal.exception.ValidationException;
+import com.sharemal.model.Bill;
+import com.sharemal.model.Money;
+import com.sharemal.model.Person;
+import com.sharemal.repository.BillRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Statements issued by payment toggles and status updates, counted through Hibernate {@link Statistics}.
+ * The service methods run in their own committed transactions, as in production, so the second-level
+ * cache is populated and read the same way.
+ */
+@DataJpaTest
+@Import(BillService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BillServicePaymentStatementsTest {
+
+    @Autowired
+    private BillService billService;
+
+    @Autowired
+    private BillRepository billRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private BillTitleIndex billTitleIndex;
+
+    private Statistics statistics;
+    private Bill bill;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        bill = billRepository.save(bill("Dinner", "Alice", "Bob", "Carol"));
+        // Load the bill, its persons collection and the persons once, as a GET of the bill would
+        billService.getBillById(bill.getId());
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        billRepository.deleteAll();
+    }
+
+    @Test
+    void should_issueTwoUpdates_when_togglingOnePersonWithWarmCache() {
+        // Given
+        Long personId = bill.getPersons().get(0).getId();
+
+        // When
+        BillDto updated = billService.togglePersonPaymentStatuses(bill.getId(), List.of(new PaymentToggle(personId, null)));
+
+        // Then
+        // One UPDATE of the person by ID and one version-conditional UPDATE of the bill's counters and status
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+        assertThat(updated.getPersons()).hasSize(3);
+        assertThat(updated.getPersons()).filteredOn(person -> person.getId().equals(personId))
+                .extracting(PersonDto::getPaymentStatus).containsExactly(PaymentStatus.PAID);
+        assertThat(updated.getVersion()).isEqualTo(bill.getVersion() + 1);
+    }
+
+    @Test
+    void should_completeTheBill_when_everyPersonIsToggledToPaid() {
+        // Given
+        List<PaymentToggle> toggles = bill.getPersons().stream()
+                .map(person -> new PaymentToggle(person.getId(), null))
+                .toList();
+
+        // When
+        BillDto updated = billService.togglePersonPaymentStatuses(bill.getId(), toggles);
+
+        // Then
+        assertThat(updated.getStatus()).isEqualTo(BillStatus.COMPLETE);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(4);
+        Bill stored = billRepository.findById(bill.getId()).orElseThrow();
+        assertThat(stored.getPaidCount()).isEqualTo(3);
+        assertThat(stored.getPaidAmount()).isEqualTo(stored.getTotalAmount());
+    }
+
+    @Test
+    void should_rejectTheToggle_when_thePersonBelongsToAnotherBill() {
+        // Given
+        Bill other = billRepository.save(bill("Lunch", "Dave"));
+        PaymentToggle toggle = new PaymentToggle(other.getPersons().get(0).getId(), null);
+
+        // When
+        billService.togglePersonPaymentStatuses(bill.getId(), List.of(toggle));
+
+        // Then
+        assertThat(toggle.getFailure()).isInstanceOf(ResourceNotFoundException.class);
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+    }
+
+    @Test
+    void should_rejectTheToggleWithoutStatements_when_theExpectedVersionIsStale() {
+        // Given
+        PaymentToggle toggle = new PaymentToggle(bill.getPersons().get(0).getId(), bill.getVersion() + 1);
+
+        // When
+        billService.togglePersonPaymentStatuses(bill.getId(), List.of(toggle));
+
+        // Then
+        assertThat(toggle.getFailure()).isInstanceOf(PreconditionFailedException.class);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void should_failTheFirstToggleAndAllowARetry_when_theBillChangedBehindTheCache() {
+        // Given
+        // A concurrent writer bumps the version behind the cached bill's back
+        jdbcTemplate.update("UPDATE bills SET version = version + 1 WHERE id = ?", bill.getId());
+        PaymentToggle toggle = new PaymentToggle(bill.getPersons().get(0).getId(), null);
+
+        // When / Then
+        assertThatThrownBy(() -> billService.togglePersonPaymentStatuses(bill.getId(), List.of(toggle)))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        // The failed update leaves the cached bill locked, so a retry reads the current version and goes ahead
+        BillDto updated = billService.togglePersonPaymentStatuses(bill.getId(), List.of(toggle));
+        assertThat(updated.getVersion()).isEqualTo(bill.getVersion() + 2);
+    }
+
+    @Test
+    void should_readOnlyTheBill_when_updatingTheStatus() {
+        // Given
+        jdbcTemplate.update("UPDATE bills SET status = 'COMPLETE' WHERE id = ?", bill.getId());
+        entityManagerFactory.getCache().evict(Bill.class);
+
+        // When
+        BillDto updated = billService.updateBillStatus(bill.getId());
+
+        // Then
+        // SELECT of the bill and the status UPDATE; the persons for the response come from the cache
+        assertThat(updated.getStatus()).isEqualTo(BillStatus.INCOMPLETE);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityStatistics(Person.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+
+    @Test
+    void should_rejectTheUpdate_when_theRequestedStatusDisagreesWithThePayments() {
+        // Given
+        BillUpdateRequest request = new BillUpdateRequest();
+        request.setTitle("Late dinner");
+        request.setStatus(BillStatus.COMPLETE);
+
+        // When / Then
+        assertThatThrownBy(() -> billService.updateBill(bill.getId(), request, null))
+                .isInstanceOf(ValidationException.class);
+        Bill stored = billRepository.findById(bill.getId()).orElseThrow();
+        assertThat(stored.getTitle()).isEqualTo("Dinner");
+        assertThat(stored.getStatus()).isEqualTo(BillStatus.INCOMPLETE);
+    }
+
+    private static Bill bill(String title, String... names) {
+        Bill bill = Bill.builder()
+                .title(title)
+                .totalAmount(Money.ofMinor(names.length * 1000L))
+                .operator(OperatorType.EQUALLY)
+                .billDate(LocalDate.of(2024, 1, 1))
+                .persons(new ArrayList<>())
+                .build();
+        for (String name : names) {
+            bill.addPerson(Person.builder().name(name).amount(Money.ofMinor(1000)).build());
+        }
+        bill.recalculatePaymentCounters();
+        return bill;
+    }
+}
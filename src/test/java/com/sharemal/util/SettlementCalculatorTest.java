@@ -0,0 +1,169 @@
+package com.sharemal.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SettlementCalculatorTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 10, 1_000, 100_000})
+    void should_settleInAtMostNMinusOneTransfers_when_balancesAreRandom(int participants) {
+        // Given
+        long[] balances = randomBalances(participants, new Random(participants));
+
+        // When
+        SettlementCalculator.Transfers transfers = SettlementCalculator.settle(balances);
+
+        // Then
+        assertThat(transfers.size()).isLessThanOrEqualTo(Math.max(participants - 1, 0));
+        assertSettles(balances, transfers);
+        assertExactPairsMatched(balances, transfers);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 10, 1_000, 100_000})
+    void should_pairBalancesDirectly_when_mostBalancesHaveAnOppositeMatch(int participants) {
+        // Given
+        Random random = new Random(participants);
+        long[] balances = new long[participants];
+        for (int i = 0; i + 1 < participants; i += 2) {
+            // Few distinct amounts, so many debtors and creditors share an amount
+            long amount = 100 * (1 + random.nextInt(20));
+            balances[i] = amount;
+            balances[i + 1] = -amount;
+        }
+
+        // When
+        SettlementCalculator.Transfers transfers = SettlementCalculator.settle(balances);
+
+        // Then
+        assertThat(transfers.size()).isEqualTo(participants / 2);
+        assertSettles(balances, transfers);
+        assertExactPairsMatched(balances, transfers);
+    }
+
+    @Test
+    void should_matchExactPairsFirst_when_someDebtsEqualSomeCredits() {
+        // Given
+        long[] balances = {-500, 300, 500, -300, -200, 120, 80};
+
+        // When
+        SettlementCalculator.Transfers transfers = SettlementCalculator.settle(balances);
+
+        // Then
+        assertThat(transfers.size()).isEqualTo(4);
+        assertThat(transfer(transfers, 0, 2)).isEqualTo(500);
+        assertThat(transfer(transfers, 3, 1)).isEqualTo(300);
+        assertSettles(balances, transfers);
+    }
+
+    @Test
+    void should_returnNoTransfers_when_everyoneIsEven() {
+        // Given
+        long[] none = new long[0];
+        long[] allZero = {0, 0, 0};
+
+        // When
+        SettlementCalculator.Transfers noneTransfers = SettlementCalculator.settle(none);
+        SettlementCalculator.Transfers allZeroTransfers = SettlementCalculator.settle(allZero);
+
+        // Then
+        assertThat(noneTransfers.size()).isZero();
+        assertThat(allZeroTransfers.size()).isZero();
+    }
+
+    @Test
+    void should_reject_when_balancesDoNotAddUpToZero() {
+        // Given
+        long[] balances = {100, -99};
+
+        // When / Then
+        assertThatThrownBy(() -> SettlementCalculator.settle(balances))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void should_reject_when_aBalanceExceedsTheSupportedAmount() {
+        // Given
+        long tooLarge = SettlementCalculator.MAX_AMOUNT + 1;
+        long[] balances = {tooLarge, -tooLarge};
+
+        // When / Then
+        assertThatThrownBy(() -> SettlementCalculator.settle(balances))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Random balances adding up to zero, with some participants already even
+     */
+    static long[] randomBalances(int participants, Random random) {
+        long[] balances = new long[participants];
+        long sum = 0;
+        for (int i = 0; i < participants - 1; i++) {
+            balances[i] = random.nextInt(10) == 0 ? 0 : random.nextLong(-100_000, 100_001);
+            sum += balances[i];
+        }
+        if (participants > 0) {
+            balances[participants - 1] = -sum;
+        }
+        return balances;
+    }
+
+    /**
+     * Applying the transfers leaves every balance at zero; each one moves a positive amount from a debtor to a creditor
+     */
+    private static void assertSettles(long[] balances, SettlementCalculator.Transfers transfers) {
+        long[] remaining = balances.clone();
+        for (int i = 0; i < transfers.size(); i++) {
+            assertThat(transfers.amount(i)).isPositive();
+            assertThat(balances[transfers.from(i)]).isNegative();
+            assertThat(balances[transfers.to(i)]).isPositive();
+            remaining[transfers.from(i)] += transfers.amount(i);
+            remaining[transfers.to(i)] -= transfers.amount(i);
+        }
+        assertThat(remaining).containsOnly(0L);
+    }
+
+    /**
+     * Of the debtors and creditors owing and owed the same amount, as many as can be paired settle with one
+     * transfer between each other for the full amount
+     */
+    private static void assertExactPairsMatched(long[] balances, SettlementCalculator.Transfers transfers) {
+        Map<Long, Integer> credits = new HashMap<>();
+        Map<Long, Integer> debts = new HashMap<>();
+        for (long balance : balances) {
+            if (balance > 0) {
+                credits.merge(balance, 1, Integer::sum);
+            } else if (balance < 0) {
+                debts.merge(-balance, 1, Integer::sum);
+            }
+        }
+        Map<Long, Integer> directTransfers = new HashMap<>();
+        for (int i = 0; i < transfers.size(); i++) {
+            long amount = transfers.amount(i);
+            if (balances[transfers.from(i)] == -amount && balances[transfers.to(i)] == amount) {
+                directTransfers.merge(amount, 1, Integer::sum);
+            }
+        }
+        credits.forEach((amount, count) -> assertThat(directTransfers.getOrDefault(amount, 0))
+                .as("direct transfers of %d", amount)
+                .isGreaterThanOrEqualTo(Math.min(count, debts.getOrDefault(amount, 0))));
+    }
+
+    private static long transfer(SettlementCalculator.Transfers transfers, int from, int to) {
+        for (int i = 0; i < transfers.size(); i++) {
+            if (transfers.from(i) == from && transfers.to(i) == to) {
+                return transfers.amount(i);
+            }
+        }
+        return 0;
+    }
+}